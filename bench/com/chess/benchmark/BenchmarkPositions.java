@@ -0,0 +1,29 @@
+package com.chess.benchmark;
+
+import com.chess.engine.board.Board;
+import com.chess.pgn.FenUtilities;
+
+// The positions every benchmark runs on, the usual perft suite: an opening, a middlegame crowded with captures,
+// castling and promotions, and two thin endgame-like positions where the sliders have open lines.
+public enum BenchmarkPositions {
+    START("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1"),
+    KIWIPETE("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1"),
+    POSITION_3("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1"),
+    POSITION_4("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1"),
+    POSITION_5("rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8"),
+    MIDDLEGAME("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10");
+
+    private final String fen;
+
+    BenchmarkPositions(final String fen) {
+        this.fen = fen;
+    }
+
+    public String getFen() {
+        return this.fen;
+    }
+
+    public Board createBoard() {
+        return FenUtilities.createGameFromFEN(this.fen);
+    }
+}
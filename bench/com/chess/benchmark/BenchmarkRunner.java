@@ -0,0 +1,17 @@
+package com.chess.benchmark;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Runs the benchmarks whose names match the argument, all of them without one, e.g. "SearchBenchmark" or
+// "MoveGenerationBenchmark.calculateLegalMoves". Needs the JMH annotation processor to have run on this module.
+public class BenchmarkRunner {
+    public static void main(final String[] args) throws RunnerException {
+        final Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : ".*Benchmark.*")
+                .build();
+        new Runner(options).run();
+    }
+}
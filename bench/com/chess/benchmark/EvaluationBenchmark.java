@@ -0,0 +1,47 @@
+package com.chess.benchmark;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.player.ai.StandardBoardEvaluator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// The static evaluation on the immutable Board the GUI uses and on the SearchBoard the search uses. A Board keeps
+// its players' legal moves and check state once asked, so every Board invocation gets a board built anew and is
+// timed with the move generation, check and mate tests the evaluation triggers. The SearchBoard caches nothing
+// between evaluations and is built once.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EvaluationBenchmark {
+    @Param({"START", "KIWIPETE", "POSITION_3", "POSITION_4", "POSITION_5", "MIDDLEGAME"})
+    public BenchmarkPositions position;
+
+    private final StandardBoardEvaluator evaluator = new StandardBoardEvaluator();
+    private Board board;
+    private SearchBoard searchBoard;
+
+    @Setup(Level.Trial)
+    public void setupSearchBoard() {
+        this.searchBoard = new SearchBoard(this.position.createBoard());
+    }
+
+    @Setup(Level.Invocation)
+    public void setupBoard() {
+        this.board = this.position.createBoard();
+    }
+
+    @Benchmark
+    public int evaluateBoard() {
+        return this.evaluator.evaluate(this.board, 0);
+    }
+
+    @Benchmark
+    public int evaluateSearchBoard() {
+        return this.evaluator.evaluate(this.searchBoard, 0);
+    }
+}
@@ -0,0 +1,46 @@
+package com.chess.benchmark;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Playing every legal move of the position once: Move.execute() alone builds the next Board, Player.makeMove()
+// adds the lookup of the move in the legal move list, which already leaves out moves that expose the king.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoveExecutionBenchmark {
+    @Param({"START", "KIWIPETE", "POSITION_3", "POSITION_4", "POSITION_5", "MIDDLEGAME"})
+    public BenchmarkPositions position;
+
+    private Board board;
+    private List<Move> legalMoves;
+
+    @Setup
+    public void setup() {
+        this.board = this.position.createBoard();
+        this.legalMoves = new ArrayList<>(this.board.currentPlayer().getLegalMoves());
+    }
+
+    @Benchmark
+    public void executeMoves(final Blackhole blackhole) {
+        for (final Move move : this.legalMoves) {
+            blackhole.consume(move.execute());
+        }
+    }
+
+    @Benchmark
+    public void makeMoves(final Blackhole blackhole) {
+        for (final Move move : this.legalMoves) {
+            blackhole.consume(this.board.currentPlayer().makeMove(move));
+        }
+    }
+}
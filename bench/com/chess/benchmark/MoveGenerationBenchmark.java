@@ -0,0 +1,51 @@
+package com.chess.benchmark;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.pieces.Piece;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Move generation piece by piece, and building a whole Board: its tiles, bitboards, key and players. The legal moves
+// of a Board are only generated when first asked for, so building one does not include them.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoveGenerationBenchmark {
+    @Param({"START", "KIWIPETE", "POSITION_3", "POSITION_4", "POSITION_5", "MIDDLEGAME"})
+    public BenchmarkPositions position;
+
+    private Board board;
+    private List<Piece> pieces;
+
+    @Setup
+    public void setup() {
+        this.board = this.position.createBoard();
+        this.pieces = new ArrayList<>(this.board.getWhitePieces());
+        this.pieces.addAll(this.board.getBlackPieces());
+    }
+
+    @Benchmark
+    public void calculateLegalMoves(final Blackhole blackhole) {
+        for (final Piece piece : this.pieces) {
+            blackhole.consume(piece.calculateLegalMoves(this.board));
+        }
+    }
+
+    @Benchmark
+    public Board buildBoard() {
+        final Board.Builder builder = new Board.Builder();
+        for (final Piece piece : this.pieces) {
+            builder.setPiece(piece);
+        }
+        builder.setMoveMaker(this.board.currentPlayer().getAlliance());
+        builder.setEnPassantPawn(this.board.getEnPassantPawn());
+        return builder.build();
+    }
+}
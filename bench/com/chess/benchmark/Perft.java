@@ -0,0 +1,205 @@
+package com.chess.benchmark;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveUtils;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.player.MoveTransition;
+import com.chess.pgn.FenUtilities;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Counts the leaf nodes of the legal move tree to a fixed depth, the standard check of a move generator: compare the
+// counts with a trusted engine, then narrow a difference down with -divide, which lists the count under each root
+// move. Promotions are to a queen only in this engine, so positions with promotions count fewer nodes than the
+// published figures.
+//
+//   Perft [-divide] [-bulk] [-threads n] [-search] depth [fen]
+//
+//   -divide     the node count under each root move
+//   -bulk       count the legal moves at the last ply instead of playing each one
+//   -threads n  split the root moves over n threads
+//   -search     generate with SearchBoard (make/unmake on int moves) instead of Board and Player.makeMove()
+//
+// Without a FEN every position of BenchmarkPositions is counted.
+public class Perft {
+    private final int depth;
+    private final boolean isDivide;
+    private final boolean isBulkCounting;
+    private final int threads;
+    private final boolean isSearchBoard;
+
+    private Perft(final int depth,
+                  final boolean isDivide,
+                  final boolean isBulkCounting,
+                  final int threads,
+                  final boolean isSearchBoard) {
+        this.depth = depth;
+        this.isDivide = isDivide;
+        this.isBulkCounting = isBulkCounting;
+        this.threads = threads;
+        this.isSearchBoard = isSearchBoard;
+    }
+
+    public static void main(final String[] args) throws InterruptedException, ExecutionException {
+        boolean isDivide = false;
+        boolean isBulkCounting = false;
+        boolean isSearchBoard = false;
+        int threads = 1;
+        final List<String> operands = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-divide" -> isDivide = true;
+                case "-bulk" -> isBulkCounting = true;
+                case "-search" -> isSearchBoard = true;
+                case "-threads" -> threads = Math.max(1, Integer.parseInt(args[++i]));
+                default -> operands.add(args[i]);
+            }
+        }
+
+        if (operands.isEmpty()) {
+            System.out.println("usage: Perft [-divide] [-bulk] [-threads n] [-search] depth [fen]");
+            return;
+        }
+
+        final Perft perft = new Perft(Integer.parseInt(operands.get(0)), isDivide, isBulkCounting, threads, isSearchBoard);
+        if (operands.size() > 1) {
+            perft.run(String.join(" ", operands.subList(1, operands.size())));
+        } else {
+            for (final BenchmarkPositions position : BenchmarkPositions.values()) {
+                System.out.println(position);
+                perft.run(position.getFen());
+            }
+        }
+    }
+
+    private void run(final String fen) throws InterruptedException, ExecutionException {
+        final Board board = FenUtilities.createGameFromFEN(fen);
+        final Map<String, Callable<Long>> rootTasks = this.isSearchBoard
+                ? createSearchBoardTasks(board)
+                : createBoardTasks(board);
+
+        final long startTime = System.nanoTime();
+        final Map<String, Long> divide = new TreeMap<>();
+        final ExecutorService executor = Executors.newFixedThreadPool(this.threads);
+        try {
+            final Map<String, Future<Long>> results = new TreeMap<>();
+            for (final Map.Entry<String, Callable<Long>> task : rootTasks.entrySet()) {
+                results.put(task.getKey(), executor.submit(task.getValue()));
+            }
+            for (final Map.Entry<String, Future<Long>> result : results.entrySet()) {
+                divide.put(result.getKey(), result.getValue().get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        final long elapsedNanos = Math.max(1, System.nanoTime() - startTime);
+
+        long nodes = 0;
+        for (final Map.Entry<String, Long> entry : divide.entrySet()) {
+            if (this.isDivide) {
+                System.out.println(entry.getKey() + ": " + entry.getValue());
+            }
+            nodes += entry.getValue();
+        }
+        // depth 0 is the position itself
+        if (this.depth <= 0) {
+            nodes = 1;
+        }
+
+        System.out.printf("perft(%d) = %d in %d ms, %d nps%n", this.depth, nodes, elapsedNanos / 1_000_000,
+                nodes * 1_000_000_000L / elapsedNanos);
+    }
+
+    // one task per root move, keyed by the move in coordinate notation
+    private Map<String, Callable<Long>> createBoardTasks(final Board board) {
+        final Map<String, Callable<Long>> rootTasks = new TreeMap<>();
+        if (this.depth <= 0) {
+            return rootTasks;
+        }
+
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            final MoveTransition transition = board.currentPlayer().makeMove(move);
+            if (transition.getMoveStatus().isDone()) {
+                rootTasks.put(toString(move), () -> perft(transition.getTransitionBoard(), this.depth - 1));
+            }
+        }
+        return rootTasks;
+    }
+
+    private Map<String, Callable<Long>> createSearchBoardTasks(final Board board) {
+        final Map<String, Callable<Long>> rootTasks = new TreeMap<>();
+        if (this.depth <= 0) {
+            return rootTasks;
+        }
+
+        for (final int move : new SearchBoard(board).calculateLegalMoves()) {
+            rootTasks.put(MoveUtils.toString(move) + (MoveUtils.isPromotion(move) ? "q" : ""), () -> {
+                // every task plays on its own copy, a SearchBoard is changed in place
+                final SearchBoard searchBoard = new SearchBoard(board);
+                searchBoard.make(move);
+                final long nodes = perft(searchBoard, this.depth - 1, new int[this.depth][SearchBoard.MAX_MOVES]);
+                searchBoard.unmake();
+                return nodes;
+            });
+        }
+        return rootTasks;
+    }
+
+    private long perft(final Board board, final int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+
+        // the listed moves are already legal, so the last ply needs no boards built
+        if (depth == 1 && this.isBulkCounting) {
+            return board.currentPlayer().getLegalMoves().size();
+        }
+
+        long nodes = 0;
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            final MoveTransition transition = board.currentPlayer().makeMove(move);
+            if (transition.getMoveStatus().isDone()) {
+                nodes += perft(transition.getTransitionBoard(), depth - 1);
+            }
+        }
+        return nodes;
+    }
+
+    // moveBuffers[depth] holds the moves at that remaining depth, so the count allocates nothing
+    private long perft(final SearchBoard board, final int depth, final int[][] moveBuffers) {
+        if (depth == 0) {
+            return 1;
+        }
+
+        final int[] legalMoves = moveBuffers[depth - 1];
+        final int legalMoveCount = board.calculateLegalMoves(legalMoves);
+        if (depth == 1 && this.isBulkCounting) {
+            return legalMoveCount;
+        }
+
+        long nodes = 0;
+        for (int i = 0; i < legalMoveCount; i++) {
+            board.make(legalMoves[i]);
+            nodes += perft(board, depth - 1, moveBuffers);
+            board.unmake();
+        }
+        return nodes;
+    }
+
+    private static String toString(final Move move) {
+        return BoardUtils.getPositionAtCoordinate(move.getCurrentCoordinate())
+                + BoardUtils.getPositionAtCoordinate(move.getDestinationCoordinate())
+                + (move instanceof Move.PawnPromotion ? "q" : "");
+    }
+}
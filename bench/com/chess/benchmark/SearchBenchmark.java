@@ -0,0 +1,44 @@
+package com.chess.benchmark;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.player.ai.AlphaBeta;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// A fixed-depth AlphaBeta.execute() from scratch: the AlphaBeta is cleared before every invocation, so no
+// transposition table entries or history carry over from the one before and each run does the same work.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class SearchBenchmark {
+    @Param({"START", "KIWIPETE", "POSITION_3", "POSITION_4", "POSITION_5", "MIDDLEGAME"})
+    public BenchmarkPositions position;
+
+    @Param({"4"})
+    public int depth;
+
+    private Board board;
+    private AlphaBeta alphaBeta;
+
+    // allocating the table is not part of the search, it is done once and only cleared between invocations
+    @Setup(Level.Trial)
+    public void setupBoard() {
+        this.board = this.position.createBoard();
+        this.alphaBeta = new AlphaBeta(this.depth);
+    }
+
+    @Setup(Level.Invocation)
+    public void setupSearch() {
+        this.alphaBeta.clear();
+    }
+
+    @Benchmark
+    public Move alphaBeta() {
+        return this.alphaBeta.execute(this.board);
+    }
+}
@@ -0,0 +1,335 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
+
+// bit i of every mask is tile i of the board, so a8 = bit 0 and h1 = bit 63
+public final class BitBoardUtils {
+    public static final long EMPTY_BITBOARD = 0L;
+    public static final int NUM_PIECE_TYPES = PieceType.values().length;
+    public static final int NUM_PIECE_BITBOARDS = 2 * NUM_PIECE_TYPES; // six piece types for each alliance
+
+    // ray directions as {row step, column step}; rows grow towards rank 1, so bit indexes grow along a ray
+    // exactly when the step is positive
+    private static final int[][] DIRECTIONS = {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}};
+    private static final int[] DIAGONAL_DIRECTIONS = {0, 2, 5, 7};
+    private static final int[] ORTHOGONAL_DIRECTIONS = {1, 3, 4, 6};
+    private static final int[][] KNIGHT_STEPS = {{-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}};
+
+    public static final long[] KNIGHT_ATTACKS = computeLeaperAttacks(KNIGHT_STEPS);
+    public static final long[] KING_ATTACKS = computeLeaperAttacks(DIRECTIONS);
+    // PAWN_ATTACKS[alliance.ordinal()][tile] = tiles a pawn of that alliance standing on tile attacks
+    public static final long[][] PAWN_ATTACKS = computePawnAttacks();
+    // RAYS[direction][tile] = every tile from tile to the edge of the board along the direction
+    private static final long[][] RAYS = computeRays();
+    // BETWEEN[from][to] = tiles strictly between two tiles on one line or diagonal, empty otherwise
+    public static final long[][] BETWEEN = computeBetween();
+    static final int NUM_DIRECTIONS = DIRECTIONS.length;
+    // The magics are searched for at class load from a fixed seed per row, so every run finds the same ones. The
+    // seeds were picked because they need few tries, which halves the loading time an arbitrary seed takes.
+    private static final long[] MAGIC_SEEDS = {1776, 826, 1312, 2205, 739, 2078, 974, 30};
+    private static final MagicTable BISHOP_MAGICS = new MagicTable(DIAGONAL_DIRECTIONS);
+    private static final MagicTable ROOK_MAGICS = new MagicTable(ORTHOGONAL_DIRECTIONS);
+
+    private BitBoardUtils() {
+        throw new RuntimeException("Not instantiable!");
+    }
+
+    // white pieces take index 0 - 5, black pieces take index 6 - 11
+    public static int pieceIndex(final Alliance alliance, final PieceType pieceType) {
+        return alliance.ordinal() * NUM_PIECE_TYPES + pieceType.ordinal();
+    }
+
+    public static int pieceIndex(final Piece piece) {
+        return pieceIndex(piece.getPieceAlliance(), piece.getPieceType());
+    }
+
+    public static long tileMask(final int tileCoordinate) {
+        return 1L << tileCoordinate;
+    }
+
+    public static boolean isTileSet(final long bitBoard, final int tileCoordinate) {
+        return (bitBoard & tileMask(tileCoordinate)) != 0;
+    }
+
+    public static int countTiles(final long bitBoard) {
+        return Long.bitCount(bitBoard);
+    }
+
+    // index of the lowest tile in the mask, 64 when the mask is empty
+    public static int firstTile(final long bitBoard) {
+        return Long.numberOfTrailingZeros(bitBoard);
+    }
+
+    public static long clearFirstTile(final long bitBoard) {
+        return bitBoard & (bitBoard - 1);
+    }
+
+    public static long bishopAttacks(final int tileCoordinate, final long occupied) {
+        return BISHOP_MAGICS.attacks(tileCoordinate, occupied);
+    }
+
+    public static long rookAttacks(final int tileCoordinate, final long occupied) {
+        return ROOK_MAGICS.attacks(tileCoordinate, occupied);
+    }
+
+    public static long queenAttacks(final int tileCoordinate, final long occupied) {
+        return BISHOP_MAGICS.attacks(tileCoordinate, occupied) | ROOK_MAGICS.attacks(tileCoordinate, occupied);
+    }
+
+    static boolean isDiagonal(final int direction) {
+        return DIRECTIONS[direction][0] != 0 && DIRECTIONS[direction][1] != 0;
+    }
+
+    // the ray up to and including its first blocker
+    static long rayAttacks(final int direction, final int tileCoordinate, final long occupied) {
+        final long ray = RAYS[direction][tileCoordinate];
+        final long blockers = ray & occupied;
+
+        if (blockers == 0) {
+            return ray;
+        }
+
+        final boolean isIncreasing = DIRECTIONS[direction][0] * BoardUtils.NUM_TILES_PER_ROW + DIRECTIONS[direction][1] > 0;
+        final int firstBlocker = isIncreasing ? firstTile(blockers) : 63 - Long.numberOfLeadingZeros(blockers);
+        return ray ^ RAYS[direction][firstBlocker];
+    }
+
+    // works backwards from the tile: a piece attacks it exactly when the same piece standing on the tile would
+    // attack the piece, so no move of the attacking side is generated
+    public static boolean isSquareAttacked(final int tileCoordinate,
+                                           final Alliance byAlliance,
+                                           final long[] pieceBitBoards,
+                                           final long occupied) {
+        final Alliance defender = byAlliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+
+        if ((PAWN_ATTACKS[defender.ordinal()][tileCoordinate] & pieceBitBoards[pieceIndex(byAlliance, PieceType.PAWN)]) != 0
+                || (KNIGHT_ATTACKS[tileCoordinate] & pieceBitBoards[pieceIndex(byAlliance, PieceType.KNIGHT)]) != 0
+                || (KING_ATTACKS[tileCoordinate] & pieceBitBoards[pieceIndex(byAlliance, PieceType.KING)]) != 0) {
+            return true;
+        }
+
+        final long queens = pieceBitBoards[pieceIndex(byAlliance, PieceType.QUEEN)];
+        final long diagonalAttackers = pieceBitBoards[pieceIndex(byAlliance, PieceType.BISHOP)] | queens;
+        final long orthogonalAttackers = pieceBitBoards[pieceIndex(byAlliance, PieceType.ROOK)] | queens;
+
+        return (diagonalAttackers != 0 && (bishopAttacks(tileCoordinate, occupied) & diagonalAttackers) != 0)
+                || (orthogonalAttackers != 0 && (rookAttacks(tileCoordinate, occupied) & orthogonalAttackers) != 0);
+    }
+
+    public static long attackersOf(final int tileCoordinate,
+                                   final Alliance byAlliance,
+                                   final long[] pieceBitBoards,
+                                   final long occupied) {
+        final Alliance defender = byAlliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+        final long queens = pieceBitBoards[pieceIndex(byAlliance, PieceType.QUEEN)];
+
+        return (PAWN_ATTACKS[defender.ordinal()][tileCoordinate] & pieceBitBoards[pieceIndex(byAlliance, PieceType.PAWN)])
+                | (KNIGHT_ATTACKS[tileCoordinate] & pieceBitBoards[pieceIndex(byAlliance, PieceType.KNIGHT)])
+                | (KING_ATTACKS[tileCoordinate] & pieceBitBoards[pieceIndex(byAlliance, PieceType.KING)])
+                | (bishopAttacks(tileCoordinate, occupied) & (pieceBitBoards[pieceIndex(byAlliance, PieceType.BISHOP)] | queens))
+                | (rookAttacks(tileCoordinate, occupied) & (pieceBitBoards[pieceIndex(byAlliance, PieceType.ROOK)] | queens));
+    }
+
+    // the attacks of a slider along the given directions, found ray by ray; only used to fill the magic tables
+    private static long slidingAttacks(final int[] directions, final int tileCoordinate, final long occupied) {
+        long attacks = EMPTY_BITBOARD;
+        for (final int direction : directions) {
+            attacks |= rayAttacks(direction, tileCoordinate, occupied);
+        }
+        return attacks;
+    }
+
+    private static long[] computeLeaperAttacks(final int[][] steps) {
+        final long[] attacks = new long[BoardUtils.NUM_TILES];
+
+        for (int tile = 0; tile < BoardUtils.NUM_TILES; tile++) {
+            for (final int[] step : steps) {
+                attacks[tile] |= maskAt(row(tile) + step[0], column(tile) + step[1]);
+            }
+        }
+
+        return attacks;
+    }
+
+    private static long[][] computePawnAttacks() {
+        final long[][] attacks = new long[Alliance.values().length][BoardUtils.NUM_TILES];
+
+        for (final Alliance alliance : Alliance.values()) {
+            for (int tile = 0; tile < BoardUtils.NUM_TILES; tile++) {
+                final int forwardRow = row(tile) + alliance.getDirection();
+                attacks[alliance.ordinal()][tile] = maskAt(forwardRow, column(tile) - 1) | maskAt(forwardRow, column(tile) + 1);
+            }
+        }
+
+        return attacks;
+    }
+
+    private static long[][] computeRays() {
+        final long[][] rays = new long[DIRECTIONS.length][BoardUtils.NUM_TILES];
+
+        for (int direction = 0; direction < DIRECTIONS.length; direction++) {
+            for (int tile = 0; tile < BoardUtils.NUM_TILES; tile++) {
+                int r = row(tile) + DIRECTIONS[direction][0];
+                int c = column(tile) + DIRECTIONS[direction][1];
+
+                while (maskAt(r, c) != 0) {
+                    rays[direction][tile] |= maskAt(r, c);
+                    r += DIRECTIONS[direction][0];
+                    c += DIRECTIONS[direction][1];
+                }
+            }
+        }
+
+        return rays;
+    }
+
+    private static long[][] computeBetween() {
+        final long[][] between = new long[BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+
+        for (int from = 0; from < BoardUtils.NUM_TILES; from++) {
+            for (final long[] ray : RAYS) {
+                long tiles = ray[from];
+                while (tiles != 0) {
+                    final int to = firstTile(tiles);
+                    tiles = clearFirstTile(tiles);
+                    between[from][to] = ray[from] ^ ray[to] ^ tileMask(to);
+                }
+            }
+        }
+
+        return between;
+    }
+
+    private static long maskAt(final int row, final int column) {
+        if (row < 0 || row >= BoardUtils.NUM_TILES_PER_ROW || column < 0 || column >= BoardUtils.NUM_TILES_PER_ROW) {
+            return EMPTY_BITBOARD;
+        }
+        return tileMask(row * BoardUtils.NUM_TILES_PER_ROW + column);
+    }
+
+    private static int row(final int tileCoordinate) {
+        return tileCoordinate / BoardUtils.NUM_TILES_PER_ROW;
+    }
+
+    private static int column(final int tileCoordinate) {
+        return tileCoordinate % BoardUtils.NUM_TILES_PER_ROW;
+    }
+
+    // Magic bitboards for one kind of slider. Only the blockers on the relevant tiles of a tile's rays matter, the
+    // rays without their last tile, since nothing lies behind the edge. Multiplied by the tile's magic, those
+    // blockers gather in the top bits of the product in an order that tells every attack set apart, so the product
+    // shifted down indexes a table of precomputed attacks: one multiply, shift and load per lookup. The tables of all
+    // tiles share one array, each tile's part starting at its offset.
+    private static final class MagicTable {
+        private final long[] masks = new long[BoardUtils.NUM_TILES];
+        private final long[] magics = new long[BoardUtils.NUM_TILES];
+        private final int[] shifts = new int[BoardUtils.NUM_TILES];
+        private final int[] offsets = new int[BoardUtils.NUM_TILES];
+        private final long[] attacks;
+        private long randomState;
+
+        MagicTable(final int[] directions) {
+            int size = 0;
+            for (int tile = 0; tile < BoardUtils.NUM_TILES; tile++) {
+                this.masks[tile] = relevantTiles(directions, tile);
+                this.shifts[tile] = Long.SIZE - countTiles(this.masks[tile]);
+                this.offsets[tile] = size;
+                size += 1 << countTiles(this.masks[tile]);
+            }
+
+            this.attacks = new long[size];
+            for (int tile = 0; tile < BoardUtils.NUM_TILES; tile++) {
+                if (column(tile) == 0) {
+                    this.randomState = MAGIC_SEEDS[row(tile)];
+                }
+                this.magics[tile] = findMagic(directions, tile);
+            }
+        }
+
+        long attacks(final int tileCoordinate, final long occupied) {
+            return this.attacks[this.offsets[tileCoordinate]
+                    + (int) (((occupied & this.masks[tileCoordinate]) * this.magics[tileCoordinate]) >>> this.shifts[tileCoordinate])];
+        }
+
+        // tries random sparse numbers until one maps every blocker subset of the mask without a harmful collision,
+        // and leaves the tile's part of the table filled for it
+        private long findMagic(final int[] directions, final int tile) {
+            final long mask = this.masks[tile];
+            final int subsets = 1 << countTiles(mask);
+            final long[] blockers = new long[subsets];
+            final long[] references = new long[subsets];
+
+            // carry-rippler: walks every subset of the mask
+            long subset = EMPTY_BITBOARD;
+            for (int i = 0; i < subsets; i++) {
+                blockers[i] = subset;
+                references[i] = slidingAttacks(directions, tile, subset);
+                subset = (subset - mask) & mask;
+            }
+
+            // usedBy[index] = the attempt that last filled the entry, so a new attempt needs no clearing
+            final int[] usedBy = new int[subsets];
+            for (int attempt = 1; ; attempt++) {
+                final long magic = nextRandom() & nextRandom() & nextRandom();
+                if (countTiles((mask * magic) & 0xFF00000000000000L) < 6) {
+                    continue;
+                }
+
+                boolean isMagic = true;
+                for (int i = 0; i < subsets && isMagic; i++) {
+                    final int index = (int) ((blockers[i] * magic) >>> this.shifts[tile]);
+                    // two subsets may share an index as long as they leave the same attacks
+                    if (usedBy[index] != attempt) {
+                        usedBy[index] = attempt;
+                        this.attacks[this.offsets[tile] + index] = references[i];
+                    } else if (this.attacks[this.offsets[tile] + index] != references[i]) {
+                        isMagic = false;
+                    }
+                }
+
+                if (isMagic) {
+                    return magic;
+                }
+            }
+        }
+
+        // xorshift64*
+        private long nextRandom() {
+            this.randomState ^= this.randomState >>> 12;
+            this.randomState ^= this.randomState << 25;
+            this.randomState ^= this.randomState >>> 27;
+            return this.randomState * 0x2545F4914F6CDD1DL;
+        }
+
+        private static long relevantTiles(final int[] directions, final int tile) {
+            long relevant = EMPTY_BITBOARD;
+            for (final int direction : directions) {
+                int r = row(tile) + DIRECTIONS[direction][0];
+                int c = column(tile) + DIRECTIONS[direction][1];
+
+                while (maskAt(r + DIRECTIONS[direction][0], c + DIRECTIONS[direction][1]) != 0) {
+                    relevant |= maskAt(r, c);
+                    r += DIRECTIONS[direction][0];
+                    c += DIRECTIONS[direction][1];
+                }
+            }
+            return relevant;
+        }
+    }
+
+    public static String toString(final long bitBoard) {
+        final StringBuilder builder = new StringBuilder();
+
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            builder.append(String.format("%3s", isTileSet(bitBoard, i) ? "1" : "-"));
+
+            if ((i + 1) % BoardUtils.NUM_TILES_PER_ROW == 0) {
+                builder.append("\n");
+            }
+        }
+
+        return builder.toString();
+    }
+}
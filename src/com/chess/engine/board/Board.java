@@ -21,18 +21,32 @@ public class Board {
     private final BlackPlayer blackPlayer;
     private final Player currentPlayer;
     private final Pawn enPassantPawn;
+    // bitboard layer kept in step with the tile list, one mask per piece kind plus occupancy
+    private final long[] pieceBitBoards;
+    private final long whitePiecesBitBoard;
+    private final long blackPiecesBitBoard;
+    private final long occupiedBitBoard;
+    private final long zobristKey;
+    // as the SearchBoard castle right bits
+    private final int castleRights;
+    // computed on first use, a board the search only evaluates never pays for move generation
+    private Collection<Move> whiteStandardLegalMoves;
+    private Collection<Move> blackStandardLegalMoves;
 
     private Board(final Builder builder) {
         this.gameBoard = createGameBoard(builder);
+        this.pieceBitBoards = builder.pieceBitBoards;
+        this.whitePiecesBitBoard = builder.whitePiecesBitBoard;
+        this.blackPiecesBitBoard = builder.blackPiecesBitBoard;
+        this.occupiedBitBoard = this.whitePiecesBitBoard | this.blackPiecesBitBoard;
+        this.zobristKey = builder.zobristKey;
+        this.castleRights = builder.castleRights;
         this.whitePieces = calculateActivePieces(this.gameBoard, Alliance.WHITE);
         this.blackPieces = calculateActivePieces(this.gameBoard, Alliance.BLACK);
         this.enPassantPawn = builder.enPassantPawn;
 
-        final Collection<Move> whiteStandardLegalMoves = calculateLegalMoves(this.whitePieces);
-        final Collection<Move> blackStandardLegalMoves = calculateLegalMoves(this.blackPieces);
-
-        this.whitePlayer = new WhitePlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
-        this.blackPlayer = new BlackPlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
+        this.whitePlayer = new WhitePlayer(this);
+        this.blackPlayer = new BlackPlayer(this);
         this.currentPlayer = builder.nextMoveMaker.choosePlayer(this.whitePlayer, this.blackPlayer);
     }
 
@@ -76,6 +90,52 @@ public class Board {
         return enPassantPawn;
     }
 
+    public long getPieceBitBoard(final Alliance alliance, final Piece.PieceType pieceType) {
+        return this.pieceBitBoards[BitBoardUtils.pieceIndex(alliance, pieceType)];
+    }
+
+    public long getPiecesBitBoard(final Alliance alliance) {
+        return alliance.isWhite() ? this.whitePiecesBitBoard : this.blackPiecesBitBoard;
+    }
+
+    public long getOccupiedBitBoard() {
+        return this.occupiedBitBoard;
+    }
+
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    public int getCastleRights() {
+        return this.castleRights;
+    }
+
+    public boolean isTileOccupied(final int tileCoordinate) {
+        return BitBoardUtils.isTileSet(this.occupiedBitBoard, tileCoordinate);
+    }
+
+    public boolean isSquareAttacked(final int tileCoordinate, final Alliance byAlliance) {
+        return BitBoardUtils.isSquareAttacked(tileCoordinate, byAlliance, this.pieceBitBoards, this.occupiedBitBoard);
+    }
+
+    public LegalMoveFilter createLegalMoveFilter(final Alliance alliance) {
+        return new LegalMoveFilter(alliance, this.pieceBitBoards, this.occupiedBitBoard);
+    }
+
+    public Collection<Move> getWhiteStandardLegalMoves() {
+        if (this.whiteStandardLegalMoves == null) {
+            this.whiteStandardLegalMoves = calculateLegalMoves(this.whitePieces);
+        }
+        return this.whiteStandardLegalMoves;
+    }
+
+    public Collection<Move> getBlackStandardLegalMoves() {
+        if (this.blackStandardLegalMoves == null) {
+            this.blackStandardLegalMoves = calculateLegalMoves(this.blackPieces);
+        }
+        return this.blackStandardLegalMoves;
+    }
+
     private Collection<Move> calculateLegalMoves(final Collection<Piece> pieces) {
         final List<Move> legalMoves = new ArrayList<>();
 
@@ -169,6 +229,11 @@ public class Board {
         Alliance nextMoveMaker;
         Pawn enPassantPawn;
         Move transitionMove;
+        long[] pieceBitBoards;
+        long whitePiecesBitBoard;
+        long blackPiecesBitBoard;
+        Long zobristKey;
+        int castleRights;
 
         public Builder() {
             this.boardConfig = new HashMap<>();
@@ -190,10 +255,74 @@ public class Board {
             return this;
         }
 
+        // a move that knows the key of the board it leads to sets it, otherwise build() works it out
+        public Builder setZobristKey(final long zobristKey) {
+            this.zobristKey = zobristKey;
+            return this;
+        }
+
         public Board build() {
+            calculateBitBoards();
+            this.castleRights = calculateCastleRights();
+            if (this.zobristKey == null) {
+                this.zobristKey = calculateZobristKey();
+            }
             return new Board(this);
         }
 
+        private long calculateZobristKey() {
+            long key = ZobristKey.sideToMoveKey(this.nextMoveMaker)
+                    ^ ZobristKey.enPassantKey(this.enPassantPawn)
+                    ^ ZobristKey.castleKey(this.castleRights);
+
+            for (final Piece piece : this.boardConfig.values()) {
+                key ^= ZobristKey.pieceKey(piece);
+            }
+
+            return key;
+        }
+
+        // A right needs a capable king that has not moved from its start tile and a rook that has not moved from
+        // its home tile. SearchBoard.make() drops the same rights move by move, so both boards key them alike.
+        private int calculateCastleRights() {
+            return castleRight(Alliance.WHITE, 60, 63, SearchBoard.WHITE_KING_SIDE_CASTLE)
+                    | castleRight(Alliance.WHITE, 60, 56, SearchBoard.WHITE_QUEEN_SIDE_CASTLE)
+                    | castleRight(Alliance.BLACK, 4, 7, SearchBoard.BLACK_KING_SIDE_CASTLE)
+                    | castleRight(Alliance.BLACK, 4, 0, SearchBoard.BLACK_QUEEN_SIDE_CASTLE);
+        }
+
+        private int castleRight(final Alliance alliance, final int kingTile, final int rookTile, final int castleRight) {
+            final Piece king = this.boardConfig.get(kingTile);
+            final Piece rook = this.boardConfig.get(rookTile);
+            if (king == null || !king.getPieceType().isKing() || king.getPieceAlliance() != alliance || !king.isFirstMove()
+                    || rook == null || !rook.getPieceType().isRook() || rook.getPieceAlliance() != alliance || !rook.isFirstMove()) {
+                return 0;
+            }
+
+            final boolean isCapable = rookTile > kingTile
+                    ? ((King) king).isKingSideCastCapable()
+                    : ((King) king).isQueenSideCastCapable();
+            return isCapable ? castleRight : 0;
+        }
+
+        // setPiece may overwrite a tile, so the masks are taken from the final configuration
+        private void calculateBitBoards() {
+            this.pieceBitBoards = new long[BitBoardUtils.NUM_PIECE_BITBOARDS];
+            this.whitePiecesBitBoard = BitBoardUtils.EMPTY_BITBOARD;
+            this.blackPiecesBitBoard = BitBoardUtils.EMPTY_BITBOARD;
+
+            for (final Piece piece : this.boardConfig.values()) {
+                final long tileMask = BitBoardUtils.tileMask(piece.getPiecePosition());
+                this.pieceBitBoards[BitBoardUtils.pieceIndex(piece)] |= tileMask;
+
+                if (piece.getPieceAlliance().isWhite()) {
+                    this.whitePiecesBitBoard |= tileMask;
+                } else {
+                    this.blackPiecesBitBoard |= tileMask;
+                }
+            }
+        }
+
         public Builder setEnPassantPawn(Pawn enPassantPawn) {
             this.enPassantPawn = enPassantPawn;
             return this;
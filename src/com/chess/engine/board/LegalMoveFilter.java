@@ -0,0 +1,165 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece.PieceType;
+
+import java.util.Arrays;
+
+import static com.chess.engine.board.Move.*;
+
+// Decides whether a pseudo-legal move leaves its own king attacked without playing it. Checkers and pins are
+// worked out once per position, after that a move is a few mask tests: in double check only the king may move,
+// in single check the move has to capture the checker or block the line, and a pinned piece has to stay on the
+// line between its king and the pinner.
+public final class LegalMoveFilter {
+    private Alliance alliance;
+    private Alliance opponent;
+    private long[] pieceBitBoards;
+    private long occupied;
+    private int kingTile;
+    private long checkers;
+    private long checkMask;
+    private long pinned;
+    private final long[] pinRays;
+
+    LegalMoveFilter(final Alliance alliance, final long[] pieceBitBoards, final long occupied) {
+        this();
+        update(alliance, pieceBitBoards, occupied);
+    }
+
+    // a filter for no position yet, update() has to come before the first test
+    LegalMoveFilter() {
+        this.pinRays = new long[BitBoardUtils.NUM_DIRECTIONS];
+    }
+
+    // works out checkers and pins again for another position, so a SearchBoard reuses one filter for every node
+    void update(final Alliance alliance, final long[] pieceBitBoards, final long occupied) {
+        this.alliance = alliance;
+        this.opponent = alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+        this.pieceBitBoards = pieceBitBoards;
+        this.occupied = occupied;
+        this.kingTile = BitBoardUtils.firstTile(pieceBitBoards[BitBoardUtils.pieceIndex(alliance, PieceType.KING)]);
+        this.checkers = BitBoardUtils.attackersOf(this.kingTile, this.opponent, pieceBitBoards, occupied);
+
+        if (this.checkers == 0) {
+            this.checkMask = ~BitBoardUtils.EMPTY_BITBOARD;
+        } else if (BitBoardUtils.countTiles(this.checkers) == 1) {
+            this.checkMask = this.checkers | BitBoardUtils.BETWEEN[this.kingTile][BitBoardUtils.firstTile(this.checkers)];
+        } else {
+            this.checkMask = BitBoardUtils.EMPTY_BITBOARD;
+        }
+
+        Arrays.fill(this.pinRays, BitBoardUtils.EMPTY_BITBOARD);
+        this.pinned = calculatePins();
+    }
+
+    private long calculatePins() {
+        final long ownPieces = piecesOf(this.alliance);
+        final long queens = this.pieceBitBoards[BitBoardUtils.pieceIndex(this.opponent, PieceType.QUEEN)];
+        final long diagonalSliders = this.pieceBitBoards[BitBoardUtils.pieceIndex(this.opponent, PieceType.BISHOP)] | queens;
+        final long orthogonalSliders = this.pieceBitBoards[BitBoardUtils.pieceIndex(this.opponent, PieceType.ROOK)] | queens;
+        long pinnedPieces = BitBoardUtils.EMPTY_BITBOARD;
+
+        for (int direction = 0; direction < BitBoardUtils.NUM_DIRECTIONS; direction++) {
+            final long sliders = BitBoardUtils.isDiagonal(direction) ? diagonalSliders : orthogonalSliders;
+            if (sliders == 0) {
+                continue;
+            }
+
+            final long firstBlocker = BitBoardUtils.rayAttacks(direction, this.kingTile, this.occupied) & this.occupied;
+            if ((firstBlocker & ownPieces) == 0) {
+                continue;
+            }
+
+            final long secondBlocker = BitBoardUtils.rayAttacks(direction, BitBoardUtils.firstTile(firstBlocker), this.occupied)
+                    & this.occupied;
+            if ((secondBlocker & sliders) != 0) {
+                pinnedPieces |= firstBlocker;
+                this.pinRays[direction] = BitBoardUtils.BETWEEN[this.kingTile][BitBoardUtils.firstTile(secondBlocker)] | secondBlocker;
+            }
+        }
+
+        return pinnedPieces;
+    }
+
+    public boolean isInCheck() {
+        return this.checkers != 0;
+    }
+
+    public boolean isLegal(final Move move) {
+        if (move.isCastlingMove()) {
+            return true; // the castle generators already check every tile the king crosses
+        }
+
+        return isLegal(move.getCurrentCoordinate(),
+                move.getDestinationCoordinate(),
+                move.getMovedPiece().getPieceType().isKing(),
+                move instanceof PawnEnPassantAttackMove ? move.getAttackedPiece().getPiecePosition() : SearchBoard.NO_TILE);
+    }
+
+    // compact move of MoveUtils; enPassantTile is the tile of the pawn that has just jumped
+    boolean isLegal(final int move, final int enPassantTile) {
+        if (MoveUtils.isCastle(move)) {
+            return true;
+        }
+
+        return isLegal(MoveUtils.from(move),
+                MoveUtils.to(move),
+                MoveUtils.movedPiece(move) % BitBoardUtils.NUM_PIECE_TYPES == PieceType.KING.ordinal(),
+                MoveUtils.flag(move) == MoveUtils.EN_PASSANT_FLAG ? enPassantTile : SearchBoard.NO_TILE);
+    }
+
+    // enPassantCaptureTile is the tile of the captured pawn for an en passant capture and NO_TILE otherwise
+    boolean isLegal(final int from, final int to, final boolean isKingMove, final int enPassantCaptureTile) {
+        if (isKingMove) {
+            return !BitBoardUtils.isSquareAttacked(to, this.opponent, this.pieceBitBoards,
+                    this.occupied & ~BitBoardUtils.tileMask(from));
+        }
+
+        if (enPassantCaptureTile != SearchBoard.NO_TILE) {
+            return isEnPassantLegal(from, to, enPassantCaptureTile);
+        }
+
+        final long toMask = BitBoardUtils.tileMask(to);
+
+        if ((toMask & this.checkMask) == 0) {
+            return false;
+        }
+
+        return (this.pinned & BitBoardUtils.tileMask(from)) == 0 || (toMask & pinRayOf(from)) != 0;
+    }
+
+    // en passant empties two tiles on the same row, which a pin test cannot see, so the king is checked on the
+    // board as it will be after the capture
+    private boolean isEnPassantLegal(final int from, final int to, final int capturedTile) {
+        final long capturedMask = BitBoardUtils.tileMask(capturedTile);
+        final long occupiedAfter = (this.occupied ^ BitBoardUtils.tileMask(from) ^ capturedMask) | BitBoardUtils.tileMask(to);
+        final long queens = this.pieceBitBoards[BitBoardUtils.pieceIndex(this.opponent, PieceType.QUEEN)];
+
+        return (BitBoardUtils.PAWN_ATTACKS[this.alliance.ordinal()][this.kingTile]
+                & this.pieceBitBoards[BitBoardUtils.pieceIndex(this.opponent, PieceType.PAWN)] & ~capturedMask) == 0
+                && (BitBoardUtils.KNIGHT_ATTACKS[this.kingTile]
+                & this.pieceBitBoards[BitBoardUtils.pieceIndex(this.opponent, PieceType.KNIGHT)]) == 0
+                && (BitBoardUtils.bishopAttacks(this.kingTile, occupiedAfter)
+                & (this.pieceBitBoards[BitBoardUtils.pieceIndex(this.opponent, PieceType.BISHOP)] | queens)) == 0
+                && (BitBoardUtils.rookAttacks(this.kingTile, occupiedAfter)
+                & (this.pieceBitBoards[BitBoardUtils.pieceIndex(this.opponent, PieceType.ROOK)] | queens)) == 0;
+    }
+
+    private long pinRayOf(final int tile) {
+        for (final long pinRay : this.pinRays) {
+            if ((pinRay & BitBoardUtils.tileMask(tile)) != 0) {
+                return pinRay;
+            }
+        }
+        return BitBoardUtils.EMPTY_BITBOARD;
+    }
+
+    private long piecesOf(final Alliance pieceAlliance) {
+        long pieces = BitBoardUtils.EMPTY_BITBOARD;
+        for (final PieceType pieceType : PieceType.values()) {
+            pieces |= this.pieceBitBoards[BitBoardUtils.pieceIndex(pieceAlliance, pieceType)];
+        }
+        return pieces;
+    }
+}
@@ -97,12 +97,36 @@ public abstract class Move {
             builder.setPiece(piece);
         }
 
-        builder.setPiece(this.movedPiece.movePiece(this));
+        final Piece movedPieceAfter = this.movedPiece.movePiece(this);
+        builder.setPiece(movedPieceAfter);
         builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+        builder.setZobristKey(calculateZobristKey(movedPieceAfter));
 
         return builder.build();
     }
 
+    // key of the board this move leads to, worked out from the current key instead of from every piece
+    long calculateZobristKey(final Piece movedPieceAfter) {
+        long key = this.board.getZobristKey()
+                ^ ZobristKey.BLACK_TO_MOVE_KEY
+                ^ ZobristKey.enPassantKey(this.board.getEnPassantPawn())
+                ^ ZobristKey.pieceKey(this.movedPiece)
+                ^ ZobristKey.pieceKey(movedPieceAfter);
+
+        if (isAttack()) {
+            key ^= ZobristKey.pieceKey(getAttackedPiece());
+        }
+
+        // a move from or to the home tile of a king or rook gives up the castle rights that need it
+        final int castleRights = this.board.getCastleRights();
+        key ^= ZobristKey.castleKey(castleRights)
+                ^ ZobristKey.castleKey(castleRights
+                & SearchBoard.castleRightsKept(this.movedPiece.getPiecePosition())
+                & SearchBoard.castleRightsKept(this.destinationCoordinate));
+
+        return key;
+    }
+
     public static class MajorAttackMove extends AttackMove {
         public MajorAttackMove(final Board board,
                                final Piece pieceMoved,
@@ -246,9 +270,11 @@ public abstract class Move {
                     .filter(piece -> !piece.equals(this.getAttackedPiece()))
                     .forEach(builder::setPiece);
 
-            builder.setPiece(this.movedPiece.movePiece(this));
+            final Piece movedPieceAfter = this.movedPiece.movePiece(this);
+            builder.setPiece(movedPieceAfter);
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
             builder.setMoveTransition(this);
+            builder.setZobristKey(calculateZobristKey(movedPieceAfter));
 
             return builder.build();
         }
@@ -289,8 +315,12 @@ public abstract class Move {
             for (final Piece piece : pawnMovedBoard.currentPlayer().getOpponent().getActivePieces()) {
                 builder.setPiece(piece);
             }
-            builder.setPiece(this.promotedPawn.getPromotedPiece().movePiece(this));
+            final Piece promotedPiece = this.promotedPawn.getPromotedPiece().movePiece(this);
+            builder.setPiece(promotedPiece);
             builder.setMoveMaker(pawnMovedBoard.currentPlayer().getAlliance());
+            builder.setZobristKey(pawnMovedBoard.getZobristKey()
+                    ^ ZobristKey.pieceKey(pawnMovedBoard.getTile(this.destinationCoordinate).getPiece())
+                    ^ ZobristKey.pieceKey(promotedPiece));
 
             return builder.build();
         }
@@ -334,6 +364,7 @@ public abstract class Move {
             builder.setEnPassantPawn(movedPawn);
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
             builder.setMoveTransition(this);
+            builder.setZobristKey(calculateZobristKey(movedPawn) ^ ZobristKey.enPassantKey(movedPawn));
 
             return builder.build();
         }
@@ -399,9 +430,14 @@ public abstract class Move {
             }
 
             // TODO(quan): Look into the first move on normal pieces
-            builder.setPiece(this.movedPiece.movePiece(this));
-            builder.setPiece(new Rook(this.castleRook.getPieceAlliance(), this.castleRookDestination));
+            final Piece movedKing = this.movedPiece.movePiece(this);
+            final Rook movedRook = new Rook(this.castleRook.getPieceAlliance(), this.castleRookDestination, false);
+            builder.setPiece(movedKing);
+            builder.setPiece(movedRook);
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            builder.setZobristKey(calculateZobristKey(movedKing)
+                    ^ ZobristKey.pieceKey(this.castleRook)
+                    ^ ZobristKey.pieceKey(movedRook));
 
             return builder.build();
         }
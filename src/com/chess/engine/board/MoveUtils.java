@@ -1,7 +1,8 @@
 package com.chess.engine.board;
 
-import java.util.ArrayList;
-import java.util.List;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
+import com.chess.engine.pieces.Rook;
 
 import static com.chess.engine.board.Move.*;
 
@@ -11,33 +12,156 @@ public enum MoveUtils {
 
     public static final Move NULL_MOVE = new NullMove();
 
-//    public static int exchangeScore(final Move move) {
-//        if(move == MoveFactory.getNullMove()) {
-//            return 1;
-//        }
-//        return move.isAttack() ?
-//                5 * exchangeScore(move.getBoard().getTransitionMove()) :
-//                exchangeScore(move.getBoard().getTransitionMove());
-//
-//    }
+    // Compact moves for the search: one int per move instead of a Move object.
+    //  bits  0 -  5  from tile
+    //  bits  6 - 11  to tile
+    //  bits 12 - 15  moved piece, the BitBoardUtils piece index
+    //  bits 16 - 19  captured piece index, NONE when nothing is captured
+    //  bits 20 - 23  piece index the pawn promotes to, NONE otherwise
+    //  bits 24 - 26  flag
+    // no real move encodes to 0, so 0 marks the absence of a move
+    public static final int NO_MOVE = 0;
+    public static final int NONE = 0xF;
+
+    public static final int QUIET_FLAG = 0;
+    public static final int PAWN_JUMP_FLAG = 1;
+    public static final int EN_PASSANT_FLAG = 2;
+    public static final int KING_SIDE_CASTLE_FLAG = 3;
+    public static final int QUEEN_SIDE_CASTLE_FLAG = 4;
+
+    private static final int TILE_MASK = 0x3F;
+    private static final int PIECE_MASK = 0xF;
+    private static final int FLAG_MASK = 0x7;
+    private static final int TO_SHIFT = 6;
+    private static final int MOVED_PIECE_SHIFT = 12;
+    private static final int CAPTURED_PIECE_SHIFT = 16;
+    private static final int PROMOTION_PIECE_SHIFT = 20;
+    private static final int FLAG_SHIFT = 24;
+
+    public static int encode(final int from,
+                             final int to,
+                             final int movedPiece,
+                             final int capturedPiece,
+                             final int promotionPiece,
+                             final int flag) {
+        return from
+                | to << TO_SHIFT
+                | movedPiece << MOVED_PIECE_SHIFT
+                | (capturedPiece & PIECE_MASK) << CAPTURED_PIECE_SHIFT
+                | (promotionPiece & PIECE_MASK) << PROMOTION_PIECE_SHIFT
+                | flag << FLAG_SHIFT;
+    }
+
+    public static int from(final int move) {
+        return move & TILE_MASK;
+    }
+
+    public static int to(final int move) {
+        return (move >>> TO_SHIFT) & TILE_MASK;
+    }
+
+    public static int movedPiece(final int move) {
+        return (move >>> MOVED_PIECE_SHIFT) & PIECE_MASK;
+    }
+
+    public static int capturedPiece(final int move) {
+        return (move >>> CAPTURED_PIECE_SHIFT) & PIECE_MASK;
+    }
+
+    public static int promotionPiece(final int move) {
+        return (move >>> PROMOTION_PIECE_SHIFT) & PIECE_MASK;
+    }
+
+    public static int flag(final int move) {
+        return (move >>> FLAG_SHIFT) & FLAG_MASK;
+    }
+
+    public static boolean isCapture(final int move) {
+        return capturedPiece(move) != NONE;
+    }
+
+    public static boolean isPromotion(final int move) {
+        return promotionPiece(move) != NONE;
+    }
+
+    public static boolean isCastle(final int move) {
+        return flag(move) == KING_SIDE_CASTLE_FLAG || flag(move) == QUEEN_SIDE_CASTLE_FLAG;
+    }
+
+    public static int encode(final Move move) {
+        final Piece movedPiece = move.getMovedPiece();
+        final int movedIndex = BitBoardUtils.pieceIndex(movedPiece);
+        final int capturedIndex = move.isAttack() ? BitBoardUtils.pieceIndex(move.getAttackedPiece()) : NONE;
+        final int promotionIndex = move instanceof PawnPromotion
+                ? BitBoardUtils.pieceIndex(movedPiece.getPieceAlliance(), PieceType.QUEEN) : NONE;
+
+        final int flag;
+        if (move instanceof KingSideCastleMove) {
+            flag = KING_SIDE_CASTLE_FLAG;
+        } else if (move instanceof QueenSideCastleMove) {
+            flag = QUEEN_SIDE_CASTLE_FLAG;
+        } else if (move instanceof PawnEnPassantAttackMove) {
+            flag = EN_PASSANT_FLAG;
+        } else if (move instanceof PawnJump) {
+            flag = PAWN_JUMP_FLAG;
+        } else {
+            flag = QUIET_FLAG;
+        }
 
-    public static class Line {
-        private final List<Integer> coordinates;
+        return encode(move.getCurrentCoordinate(), move.getDestinationCoordinate(), movedIndex, capturedIndex,
+                promotionIndex, flag);
+    }
 
-        public Line() {
-            this.coordinates = new ArrayList<>();
+    // rebuilds the Move the board's own generators would have produced for this compact move
+    public static Move decode(final Board board, final int move) {
+        if (move == NO_MOVE) {
+            return NULL_MOVE;
         }
 
-        public void addCoordinate(int coordinate) {
-            this.coordinates.add(coordinate);
+        final int from = from(move);
+        final int to = to(move);
+        final Piece movedPiece = board.getTile(from).getPiece();
+        final Piece attackedPiece = isCapture(move) && flag(move) != EN_PASSANT_FLAG ? board.getTile(to).getPiece() : null;
+
+        switch (flag(move)) {
+            case KING_SIDE_CASTLE_FLAG:
+                return new KingSideCastleMove(board, movedPiece, to, (Rook) board.getTile(to + 1).getPiece(), to + 1, to - 1);
+            case QUEEN_SIDE_CASTLE_FLAG:
+                return new QueenSideCastleMove(board, movedPiece, to, (Rook) board.getTile(to - 2).getPiece(), to - 2, to + 1);
+            case EN_PASSANT_FLAG:
+                return new PawnEnPassantAttackMove(board, movedPiece, to, board.getEnPassantPawn());
+            case PAWN_JUMP_FLAG:
+                return new PawnJump(board, movedPiece, to);
+            default:
+                break;
         }
 
-        public List<Integer> getLineCoordinates() {
-            return this.coordinates;
+        if (movedPiece.getPieceType() == PieceType.PAWN) {
+            final Move pawnMove = attackedPiece != null
+                    ? new PawnAttackMove(board, movedPiece, to, attackedPiece)
+                    : new PawnMove(board, movedPiece, to);
+            return isPromotion(move) ? new PawnPromotion(pawnMove) : pawnMove;
         }
 
-        public boolean isEmpty() {
-            return this.coordinates.isEmpty();
+        return attackedPiece != null
+                ? new MajorAttackMove(board, movedPiece, to, attackedPiece)
+                : new MajorMove(board, movedPiece, to);
+    }
+
+    public static String toString(final int move) {
+        if (move == NO_MOVE) {
+            return "-";
         }
+        return BoardUtils.getPositionAtCoordinate(from(move)) + BoardUtils.getPositionAtCoordinate(to(move));
     }
+
+//    public static int exchangeScore(final Move move) {
+//        if(move == MoveFactory.getNullMove()) {
+//            return 1;
+//        }
+//        return move.isAttack() ?
+//                5 * exchangeScore(move.getBoard().getTransitionMove()) :
+//                exchangeScore(move.getBoard().getTransitionMove());
+//
+//    }
 }
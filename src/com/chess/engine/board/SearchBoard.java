@@ -0,0 +1,546 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece.PieceType;
+
+import java.util.Arrays;
+
+import static com.chess.engine.board.MoveUtils.*;
+
+// Mutable board used inside the search. Moves are applied in place with make() and reverted with unmake(),
+// so a node costs a few array writes instead of a new Board, new tiles and both players' move lists.
+// Moves are the compact ints of MoveUtils, so generating a move allocates nothing.
+// The immutable Board stays the model for the GUI and the pgn code.
+public final class SearchBoard {
+    public static final int NO_PIECE = -1;
+    public static final int NO_TILE = -1;
+    public static final int MAX_PLY = 256;
+    public static final int MAX_MOVES = 256;
+
+    public static final int WHITE_KING_SIDE_CASTLE = 1;
+    public static final int WHITE_QUEEN_SIDE_CASTLE = 2;
+    public static final int BLACK_KING_SIDE_CASTLE = 4;
+    public static final int BLACK_QUEEN_SIDE_CASTLE = 8;
+
+    private static final int[] PAWN_ATTACK_FILE_STEPS = {-1, 1};
+    // kinds of moves a generation call produces
+    private static final int TACTICAL_MOVES = 1; // captures, en passant and promotions
+    private static final int QUIET_MOVES = 2; // everything else, castling included
+    private static final int ALL_MOVES = TACTICAL_MOVES | QUIET_MOVES;
+
+    private final int[] pieceOnTile;
+    private final long[] pieceBitBoards;
+    private final long[] allianceBitBoards;
+    private Alliance moveMaker;
+    private int enPassantTile; // tile of the pawn that has just jumped, the same meaning as Board.getEnPassantPawn()
+    private int castleRights;
+    // whether each alliance has castled, by Alliance ordinal; not part of the key, as on Board
+    private final boolean[] isCastled;
+    private long zobristKey; // the same key the Board holds for this position
+
+    // undo stack, one entry per made move
+    private final int[] moveStack;
+    private final int[] enPassantStack;
+    private final int[] castleRightsStack;
+    private final long[] zobristKeyStack;
+    private int ply;
+
+    // scratch list for the move counts, isLegalMove() and the copying calculateLegalMoves()
+    private final int[] pseudoLegalMoves;
+    // checkers and pins of the position at each ply; make() marks the filter of the new ply out of date, unmake()
+    // returns to a position whose filter still holds
+    private final LegalMoveFilter[] legalMoveFilters;
+    private final boolean[] isLegalMoveFilterCurrent;
+    // filter for the side not to move, worked out again on every mobility count
+    private final LegalMoveFilter waitingSideMoveFilter;
+
+    public SearchBoard(final Board board) {
+        this.pieceOnTile = new int[BoardUtils.NUM_TILES];
+        this.pieceBitBoards = new long[BitBoardUtils.NUM_PIECE_BITBOARDS];
+        this.allianceBitBoards = new long[Alliance.values().length];
+        this.moveStack = new int[MAX_PLY];
+        this.enPassantStack = new int[MAX_PLY];
+        this.castleRightsStack = new int[MAX_PLY];
+        this.zobristKeyStack = new long[MAX_PLY];
+        this.pseudoLegalMoves = new int[MAX_MOVES];
+        this.legalMoveFilters = new LegalMoveFilter[MAX_PLY + 1];
+        this.isLegalMoveFilterCurrent = new boolean[MAX_PLY + 1];
+        this.waitingSideMoveFilter = new LegalMoveFilter();
+        this.isCastled = new boolean[Alliance.values().length];
+        this.ply = 0;
+
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            final Tile tile = board.getTile(i);
+            this.pieceOnTile[i] = NO_PIECE;
+            if (tile.isTileOccupied()) {
+                putPiece(BitBoardUtils.pieceIndex(tile.getPiece()), i);
+            }
+        }
+
+        this.moveMaker = board.currentPlayer().getAlliance();
+        this.enPassantTile = board.getEnPassantPawn() != null ? board.getEnPassantPawn().getPiecePosition() : NO_TILE;
+        this.castleRights = board.getCastleRights();
+        this.isCastled[Alliance.WHITE.ordinal()] = board.whitePlayer().isCastle();
+        this.isCastled[Alliance.BLACK.ordinal()] = board.blackPlayer().isCastle();
+        this.zobristKey ^= ZobristKey.sideToMoveKey(this.moveMaker)
+                ^ ZobristKey.enPassantKey(this.enPassantTile)
+                ^ ZobristKey.castleKey(this.castleRights);
+    }
+
+    public Alliance getMoveMaker() {
+        return this.moveMaker;
+    }
+
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    public int getPly() {
+        return this.ply;
+    }
+
+    public boolean isCastled(final Alliance alliance) {
+        return this.isCastled[alliance.ordinal()];
+    }
+
+    public long getPieceBitBoard(final Alliance alliance, final PieceType pieceType) {
+        return this.pieceBitBoards[BitBoardUtils.pieceIndex(alliance, pieceType)];
+    }
+
+    public long getPiecesBitBoard(final Alliance alliance) {
+        return this.allianceBitBoards[alliance.ordinal()];
+    }
+
+    public long getOccupiedBitBoard() {
+        return this.allianceBitBoards[0] | this.allianceBitBoards[1];
+    }
+
+    // BitBoardUtils piece index of the piece on the tile, NO_PIECE when the tile is empty
+    public int getPieceIndex(final int tileCoordinate) {
+        return this.pieceOnTile[tileCoordinate];
+    }
+
+    public boolean isInCheck() {
+        return isInCheck(this.moveMaker);
+    }
+
+    public boolean isInCheck(final Alliance alliance) {
+        final long king = this.pieceBitBoards[BitBoardUtils.pieceIndex(alliance, PieceType.KING)];
+        return king != 0 && isSquareAttacked(BitBoardUtils.firstTile(king), opponentOf(alliance));
+    }
+
+    public void make(final Move move) {
+        make(MoveUtils.encode(move));
+    }
+
+    public void make(final int move) {
+        final int from = from(move);
+        final int to = to(move);
+        final int movedPiece = movedPiece(move);
+        final int flag = flag(move);
+
+        this.moveStack[this.ply] = move;
+        this.enPassantStack[this.ply] = this.enPassantTile;
+        this.castleRightsStack[this.ply] = this.castleRights;
+        this.zobristKeyStack[this.ply] = this.zobristKey;
+        this.ply++;
+        this.isLegalMoveFilterCurrent[this.ply] = false;
+
+        this.zobristKey ^= ZobristKey.enPassantKey(this.enPassantTile) ^ ZobristKey.castleKey(this.castleRights);
+
+        if (isCapture(move)) {
+            removePiece(capturedPiece(move), flag == EN_PASSANT_FLAG ? this.enPassantTile : to);
+        }
+
+        removePiece(movedPiece, from);
+        putPiece(isPromotion(move) ? promotionPiece(move) : movedPiece, to);
+
+        if (flag == KING_SIDE_CASTLE_FLAG) {
+            movePiece(to + 1, to - 1);
+            this.isCastled[this.moveMaker.ordinal()] = true;
+        } else if (flag == QUEEN_SIDE_CASTLE_FLAG) {
+            movePiece(to - 2, to + 1);
+            this.isCastled[this.moveMaker.ordinal()] = true;
+        }
+
+        this.enPassantTile = flag == PAWN_JUMP_FLAG ? to : NO_TILE;
+        this.castleRights &= castleRightsKept(from) & castleRightsKept(to);
+        this.moveMaker = opponentOf(this.moveMaker);
+        this.zobristKey ^= ZobristKey.enPassantKey(this.enPassantTile)
+                ^ ZobristKey.castleKey(this.castleRights)
+                ^ ZobristKey.BLACK_TO_MOVE_KEY;
+    }
+
+    public void unmake() {
+        this.ply--;
+        final int move = this.moveStack[this.ply];
+        final int from = from(move);
+        final int to = to(move);
+        final int flag = flag(move);
+
+        this.enPassantTile = this.enPassantStack[this.ply];
+        this.castleRights = this.castleRightsStack[this.ply];
+        this.moveMaker = opponentOf(this.moveMaker);
+
+        removePiece(this.pieceOnTile[to], to);
+        putPiece(movedPiece(move), from);
+
+        // a side castles once, so before its castle move it had not castled
+        if (flag == KING_SIDE_CASTLE_FLAG) {
+            movePiece(to - 1, to + 1);
+            this.isCastled[this.moveMaker.ordinal()] = false;
+        } else if (flag == QUEEN_SIDE_CASTLE_FLAG) {
+            movePiece(to + 1, to - 2);
+            this.isCastled[this.moveMaker.ordinal()] = false;
+        }
+
+        // the restored en passant tile is where the pawn taken en passant stood
+        if (isCapture(move)) {
+            putPiece(capturedPiece(move), flag == EN_PASSANT_FLAG ? this.enPassantTile : to);
+        }
+
+        this.zobristKey = this.zobristKeyStack[this.ply];
+    }
+
+    // passes the turn for null move pruning, the stacked NO_MOVE marks it; undone by unmakeNullMove() only
+    public void makeNullMove() {
+        this.moveStack[this.ply] = NO_MOVE;
+        this.enPassantStack[this.ply] = this.enPassantTile;
+        this.castleRightsStack[this.ply] = this.castleRights;
+        this.zobristKeyStack[this.ply] = this.zobristKey;
+        this.ply++;
+        this.isLegalMoveFilterCurrent[this.ply] = false;
+
+        this.zobristKey ^= ZobristKey.enPassantKey(this.enPassantTile) ^ ZobristKey.BLACK_TO_MOVE_KEY;
+        this.enPassantTile = NO_TILE;
+        this.moveMaker = opponentOf(this.moveMaker);
+    }
+
+    public void unmakeNullMove() {
+        this.ply--;
+        this.enPassantTile = this.enPassantStack[this.ply];
+        this.moveMaker = opponentOf(this.moveMaker);
+        this.zobristKey = this.zobristKeyStack[this.ply];
+    }
+
+    public boolean isAfterNullMove() {
+        return this.ply > 0 && this.moveStack[this.ply - 1] == NO_MOVE;
+    }
+
+    // without a knight, bishop, rook or queen the side to move is the one most likely to be in zugzwang
+    public boolean hasNonPawnMaterial(final Alliance alliance) {
+        return (this.allianceBitBoards[alliance.ordinal()]
+                & ~this.pieceBitBoards[BitBoardUtils.pieceIndex(alliance, PieceType.PAWN)]
+                & ~this.pieceBitBoards[BitBoardUtils.pieceIndex(alliance, PieceType.KING)]) != 0;
+    }
+
+    // Writes the legal moves into moves, which needs room for MAX_MOVES, and returns how many there are. Nothing
+    // is allocated: the search hands in one buffer per ply, which stays intact while the plies below reuse theirs.
+    public int calculateLegalMoves(final int[] moves) {
+        return calculateLegalMoves(moves, 0, ALL_MOVES);
+    }
+
+    // Staged generation for a search that expects a cutoff early: the captures, en passant captures and promotions
+    // alone, then the remaining moves only if still needed. Both write from start on and return the index after
+    // the last move written; together they give the same moves as calculateLegalMoves().
+    public int calculateLegalTacticalMoves(final int[] moves, final int start) {
+        return calculateLegalMoves(moves, start, TACTICAL_MOVES);
+    }
+
+    public int calculateLegalQuietMoves(final int[] moves, final int start) {
+        return calculateLegalMoves(moves, start, QUIET_MOVES);
+    }
+
+    // a new array with the legal moves, for callers outside the search tree
+    public int[] calculateLegalMoves() {
+        return Arrays.copyOf(this.pseudoLegalMoves, calculateLegalMoves(this.pseudoLegalMoves));
+    }
+
+    public boolean hasLegalMoves() {
+        return calculateLegalMoves(this.pseudoLegalMoves) > 0;
+    }
+
+    // Whether a move found elsewhere, a hash move or the killer of a sibling node, can be played here. Only the
+    // moves of the piece on its from tile are generated to look for it.
+    public boolean isLegalMove(final int move) {
+        if (move == NO_MOVE) {
+            return false;
+        }
+
+        final int from = from(move);
+        final int piece = this.pieceOnTile[from];
+        if (piece != movedPiece(move) || piece / BitBoardUtils.NUM_PIECE_TYPES != this.moveMaker.ordinal()) {
+            return false;
+        }
+
+        final int count = isCastle(move)
+                ? calculateCastleMoves(this.moveMaker, this.pseudoLegalMoves, 0)
+                : calculatePieceMoves(piece, from, this.pseudoLegalMoves, 0, ALL_MOVES);
+        for (int i = 0; i < count; i++) {
+            if (this.pseudoLegalMoves[i] == move) {
+                return legalMoveFilter().isLegal(move, this.enPassantTile);
+            }
+        }
+        return false;
+    }
+
+    // Mobility term of the evaluation: the legal moves of either alliance, castling included, the moves
+    // Player.getLegalMoves() lists on a Board.
+    public int countLegalMoves(final Alliance alliance) {
+        int count = calculateMoves(alliance, this.pseudoLegalMoves, 0, ALL_MOVES);
+        count = calculateCastleMoves(alliance, this.pseudoLegalMoves, count);
+
+        final LegalMoveFilter legalMoveFilter;
+        if (alliance == this.moveMaker) {
+            legalMoveFilter = legalMoveFilter();
+        } else {
+            legalMoveFilter = this.waitingSideMoveFilter;
+            legalMoveFilter.update(alliance, this.pieceBitBoards, getOccupiedBitBoard());
+        }
+
+        int legalCount = 0;
+        for (int i = 0; i < count; i++) {
+            if (legalMoveFilter.isLegal(this.pseudoLegalMoves[i], this.enPassantTile)) {
+                legalCount++;
+            }
+        }
+
+        return legalCount;
+    }
+
+    private int calculateLegalMoves(final int[] moves, final int start, final int kinds) {
+        int count = calculateMoves(this.moveMaker, moves, start, kinds);
+        if ((kinds & QUIET_MOVES) != 0) {
+            count = calculateCastleMoves(this.moveMaker, moves, count);
+        }
+
+        final LegalMoveFilter legalMoveFilter = legalMoveFilter();
+        int legalCount = start;
+        for (int i = start; i < count; i++) {
+            if (legalMoveFilter.isLegal(moves[i], this.enPassantTile)) {
+                moves[legalCount++] = moves[i];
+            }
+        }
+
+        return legalCount;
+    }
+
+    // the filter of the current ply, worked out once per position however many generation calls it serves
+    private LegalMoveFilter legalMoveFilter() {
+        if (!this.isLegalMoveFilterCurrent[this.ply]) {
+            if (this.legalMoveFilters[this.ply] == null) {
+                this.legalMoveFilters[this.ply] = new LegalMoveFilter();
+            }
+            this.legalMoveFilters[this.ply].update(this.moveMaker, this.pieceBitBoards, getOccupiedBitBoard());
+            this.isLegalMoveFilterCurrent[this.ply] = true;
+        }
+        return this.legalMoveFilters[this.ply];
+    }
+
+    // writes the pseudo-legal moves of the alliance of the given kinds into moves from count on and returns the
+    // index after the last one
+    private int calculateMoves(final Alliance alliance, final int[] moves, int count, final int kinds) {
+        long pieces = this.allianceBitBoards[alliance.ordinal()];
+
+        while (pieces != 0) {
+            final int from = BitBoardUtils.firstTile(pieces);
+            pieces = BitBoardUtils.clearFirstTile(pieces);
+            count = calculatePieceMoves(this.pieceOnTile[from], from, moves, count, kinds);
+        }
+
+        return count;
+    }
+
+    private int calculatePieceMoves(final int piece, final int from, final int[] moves, final int count, final int kinds) {
+        final long occupied = getOccupiedBitBoard();
+        final long targets = ((kinds & TACTICAL_MOVES) != 0 ? this.allianceBitBoards[1 - piece / BitBoardUtils.NUM_PIECE_TYPES] : 0)
+                | ((kinds & QUIET_MOVES) != 0 ? ~occupied : 0);
+
+        return switch (PieceType.values()[piece % BitBoardUtils.NUM_PIECE_TYPES]) {
+            case PAWN -> calculatePawnMoves(piece, from, moves, count, kinds);
+            case KNIGHT -> addMoves(piece, from, BitBoardUtils.KNIGHT_ATTACKS[from] & targets, moves, count);
+            case BISHOP -> addMoves(piece, from, BitBoardUtils.bishopAttacks(from, occupied) & targets, moves, count);
+            case ROOK -> addMoves(piece, from, BitBoardUtils.rookAttacks(from, occupied) & targets, moves, count);
+            case QUEEN -> addMoves(piece, from, BitBoardUtils.queenAttacks(from, occupied) & targets, moves, count);
+            case KING -> addMoves(piece, from, BitBoardUtils.KING_ATTACKS[from] & targets, moves, count);
+        };
+    }
+
+    private int calculatePawnMoves(final int pawn, final int from, final int[] moves, final int start, final int kinds) {
+        final Alliance alliance = pawn < BitBoardUtils.NUM_PIECE_TYPES ? Alliance.WHITE : Alliance.BLACK;
+        final int queen = pawn - PieceType.PAWN.ordinal() + PieceType.QUEEN.ordinal(); // only queen promotions, as Pawn.getPromotedPiece()
+        final int forward = from + alliance.getDirection() * BoardUtils.NUM_TILES_PER_ROW;
+        int count = start;
+
+        if (BoardUtils.isValidTileCoordinate(forward) && this.pieceOnTile[forward] == NO_PIECE) {
+            if (alliance.isPawnPromotion(forward)) {
+                moves[count++] = encode(from, forward, pawn, NO_PIECE, queen, QUIET_FLAG);
+            } else {
+                moves[count++] = encode(from, forward, pawn, NO_PIECE, NO_PIECE, QUIET_FLAG);
+                final int jump = forward + alliance.getDirection() * BoardUtils.NUM_TILES_PER_ROW;
+                final boolean isStartRow = alliance.isWhite() ? BoardUtils.SECOND_ROW[from] : BoardUtils.SEVENTH_ROW[from];
+                if (isStartRow && this.pieceOnTile[jump] == NO_PIECE) {
+                    moves[count++] = encode(from, jump, pawn, NO_PIECE, NO_PIECE, PAWN_JUMP_FLAG);
+                }
+            }
+        }
+
+        for (final int fileStep : PAWN_ATTACK_FILE_STEPS) {
+            final int file = column(from) + fileStep;
+            if (file < 0 || file >= BoardUtils.NUM_TILES_PER_ROW || !BoardUtils.isValidTileCoordinate(forward)) {
+                continue;
+            }
+
+            final int destination = forward + fileStep;
+            final int attacked = this.pieceOnTile[destination];
+            if (attacked != NO_PIECE) {
+                if (!isSameAlliance(attacked, pawn)) {
+                    moves[count++] = encode(from, destination, pawn, attacked,
+                            alliance.isPawnPromotion(destination) ? queen : NO_PIECE, QUIET_FLAG);
+                }
+            } else if (this.enPassantTile == from + fileStep && alliance == this.moveMaker) {
+                moves[count++] = encode(from, destination, pawn, this.pieceOnTile[this.enPassantTile], NO_PIECE, EN_PASSANT_FLAG);
+            }
+        }
+
+        if (kinds == ALL_MOVES) {
+            return count;
+        }
+
+        // a pawn has few moves, so they are all generated and the other kind dropped
+        final boolean isTacticalWanted = kinds == TACTICAL_MOVES;
+        int keptCount = start;
+        for (int i = start; i < count; i++) {
+            if ((isCapture(moves[i]) || isPromotion(moves[i])) == isTacticalWanted) {
+                moves[keptCount++] = moves[i];
+            }
+        }
+        return keptCount;
+    }
+
+    private int addMoves(final int piece, final int from, long destinations, final int[] moves, int count) {
+        while (destinations != 0) {
+            final int destination = BitBoardUtils.firstTile(destinations);
+            destinations = BitBoardUtils.clearFirstTile(destinations);
+            moves[count++] = encode(from, destination, piece, this.pieceOnTile[destination], NO_PIECE, QUIET_FLAG);
+        }
+
+        return count;
+    }
+
+    private int calculateCastleMoves(final Alliance alliance, final int[] moves, int count) {
+        if (alliance.isWhite()) {
+            count = calculateCastleMove(alliance, WHITE_KING_SIDE_CASTLE, 60, 63, 62, 61, moves, count);
+            count = calculateCastleMove(alliance, WHITE_QUEEN_SIDE_CASTLE, 60, 56, 58, 59, moves, count);
+        } else {
+            count = calculateCastleMove(alliance, BLACK_KING_SIDE_CASTLE, 4, 7, 6, 5, moves, count);
+            count = calculateCastleMove(alliance, BLACK_QUEEN_SIDE_CASTLE, 4, 0, 2, 3, moves, count);
+        }
+        return count;
+    }
+
+    private int calculateCastleMove(final Alliance alliance,
+                                    final int castleRight,
+                                    final int kingStart,
+                                    final int rookStart,
+                                    final int kingDestination,
+                                    final int rookDestination,
+                                    final int[] moves,
+                                    final int count) {
+        final int king = BitBoardUtils.pieceIndex(alliance, PieceType.KING);
+        final int rook = BitBoardUtils.pieceIndex(alliance, PieceType.ROOK);
+
+        if ((this.castleRights & castleRight) == 0
+                || this.pieceOnTile[kingStart] != king
+                || this.pieceOnTile[rookStart] != rook) {
+            return count;
+        }
+
+        for (int tile = Math.min(kingStart, rookStart) + 1; tile < Math.max(kingStart, rookStart); tile++) {
+            if (this.pieceOnTile[tile] != NO_PIECE) {
+                return count;
+            }
+        }
+
+        final Alliance opponent = opponentOf(alliance);
+        if (isSquareAttacked(kingStart, opponent)
+                || isSquareAttacked(rookDestination, opponent)
+                || isSquareAttacked(kingDestination, opponent)) {
+            return count;
+        }
+
+        moves[count] = encode(kingStart, kingDestination, king, NO_PIECE, NO_PIECE,
+                kingDestination > kingStart ? KING_SIDE_CASTLE_FLAG : QUEEN_SIDE_CASTLE_FLAG);
+        return count + 1;
+    }
+
+    public boolean isSquareAttacked(final int tileCoordinate, final Alliance byAlliance) {
+        return BitBoardUtils.isSquareAttacked(tileCoordinate, byAlliance, this.pieceBitBoards, getOccupiedBitBoard());
+    }
+
+    private void putPiece(final int piece, final int tile) {
+        final long tileMask = BitBoardUtils.tileMask(tile);
+        this.pieceOnTile[tile] = piece;
+        this.pieceBitBoards[piece] |= tileMask;
+        this.allianceBitBoards[piece / BitBoardUtils.NUM_PIECE_TYPES] |= tileMask;
+        this.zobristKey ^= ZobristKey.pieceKey(piece, tile);
+    }
+
+    private void removePiece(final int piece, final int tile) {
+        final long tileMask = ~BitBoardUtils.tileMask(tile);
+        this.pieceOnTile[tile] = NO_PIECE;
+        this.pieceBitBoards[piece] &= tileMask;
+        this.allianceBitBoards[piece / BitBoardUtils.NUM_PIECE_TYPES] &= tileMask;
+        this.zobristKey ^= ZobristKey.pieceKey(piece, tile);
+    }
+
+    private void movePiece(final int from, final int to) {
+        final int piece = this.pieceOnTile[from];
+        removePiece(piece, from);
+        putPiece(piece, to);
+    }
+
+    private static boolean isSameAlliance(final int piece, final int otherPiece) {
+        return piece / BitBoardUtils.NUM_PIECE_TYPES == otherPiece / BitBoardUtils.NUM_PIECE_TYPES;
+    }
+
+    // a move from or to a king or rook home tile gives up the matching castle rights
+    static int castleRightsKept(final int tile) {
+        return switch (tile) {
+            case 0 -> ~BLACK_QUEEN_SIDE_CASTLE;
+            case 4 -> ~(BLACK_KING_SIDE_CASTLE | BLACK_QUEEN_SIDE_CASTLE);
+            case 7 -> ~BLACK_KING_SIDE_CASTLE;
+            case 56 -> ~WHITE_QUEEN_SIDE_CASTLE;
+            case 60 -> ~(WHITE_KING_SIDE_CASTLE | WHITE_QUEEN_SIDE_CASTLE);
+            case 63 -> ~WHITE_KING_SIDE_CASTLE;
+            default -> ~0;
+        };
+    }
+
+    private static Alliance opponentOf(final Alliance alliance) {
+        return alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+    }
+
+    private static int column(final int tile) {
+        return tile % BoardUtils.NUM_TILES_PER_ROW;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            final int piece = this.pieceOnTile[i];
+            final String pieceText = piece == NO_PIECE ? "-"
+                    : PieceType.values()[piece % BitBoardUtils.NUM_PIECE_TYPES].toString();
+            final String tileText = piece >= BitBoardUtils.NUM_PIECE_TYPES ? pieceText.toLowerCase() : pieceText;
+            builder.append(String.format("%3s", tileText));
+
+            if ((i + 1) % BoardUtils.NUM_TILES_PER_ROW == 0) {
+                builder.append("\n");
+            }
+        }
+
+        return builder.toString();
+    }
+}
@@ -0,0 +1,87 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Pawn;
+import com.chess.engine.pieces.Piece;
+
+// 64-bit position keys: one random number per piece kind and tile, per castle right, per en passant column and
+// one for black to move. A key is the xor of the numbers that describe the position, so a move changes it by
+// xor-ing out what it removes and xor-ing in what it adds.
+public final class ZobristKey {
+    // fixed seed, the same position gets the same key in every run
+    private static final long SEED = 0x5DEECE66DL;
+
+    private static final long[][] PIECE_KEYS = new long[BitBoardUtils.NUM_PIECE_BITBOARDS][BoardUtils.NUM_TILES];
+    // indexed by the SearchBoard castle right bits
+    private static final long[] CASTLE_KEYS = new long[16];
+    private static final long[] EN_PASSANT_KEYS = new long[BoardUtils.NUM_TILES_PER_ROW];
+    public static final long BLACK_TO_MOVE_KEY;
+
+    static {
+        long state = SEED;
+
+        for (final long[] pieceKeys : PIECE_KEYS) {
+            for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+                state += 0x9E3779B97F4A7C15L;
+                pieceKeys[i] = mix(state);
+            }
+        }
+
+        final long[] castleRightKeys = new long[4];
+        for (int i = 0; i < castleRightKeys.length; i++) {
+            state += 0x9E3779B97F4A7C15L;
+            castleRightKeys[i] = mix(state);
+        }
+        for (int rights = 0; rights < CASTLE_KEYS.length; rights++) {
+            for (int i = 0; i < castleRightKeys.length; i++) {
+                if ((rights & (1 << i)) != 0) {
+                    CASTLE_KEYS[rights] ^= castleRightKeys[i];
+                }
+            }
+        }
+
+        for (int i = 0; i < EN_PASSANT_KEYS.length; i++) {
+            state += 0x9E3779B97F4A7C15L;
+            EN_PASSANT_KEYS[i] = mix(state);
+        }
+
+        state += 0x9E3779B97F4A7C15L;
+        BLACK_TO_MOVE_KEY = mix(state);
+    }
+
+    private ZobristKey() {
+        throw new RuntimeException("Not instantiable!");
+    }
+
+    // splitmix64 finaliser
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public static long pieceKey(final int pieceIndex, final int tileCoordinate) {
+        return PIECE_KEYS[pieceIndex][tileCoordinate];
+    }
+
+    public static long pieceKey(final Piece piece) {
+        return pieceKey(BitBoardUtils.pieceIndex(piece), piece.getPiecePosition());
+    }
+
+    public static long castleKey(final int castleRights) {
+        return CASTLE_KEYS[castleRights];
+    }
+
+    // keyed by the column of the pawn that has just jumped, SearchBoard.NO_TILE gives no key
+    public static long enPassantKey(final int enPassantTile) {
+        return enPassantTile == SearchBoard.NO_TILE ? 0L : EN_PASSANT_KEYS[enPassantTile % BoardUtils.NUM_TILES_PER_ROW];
+    }
+
+    public static long enPassantKey(final Pawn enPassantPawn) {
+        return enPassantPawn == null ? 0L : enPassantKey(enPassantPawn.getPiecePosition());
+    }
+
+    public static long sideToMoveKey(final Alliance alliance) {
+        return alliance.isBlack() ? BLACK_TO_MOVE_KEY : 0L;
+    }
+}
@@ -1,19 +1,14 @@
 package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
-import com.chess.engine.board.*;
-import com.google.common.collect.ImmutableList;
+import com.chess.engine.board.BitBoardUtils;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
 
-import java.util.*;
-
-import static com.chess.engine.board.Move.*;
-import static com.chess.engine.board.MoveUtils.*;
+import java.util.Collection;
 
 public class Bishop extends Piece {
 
-    private final static int[] CANDIDATE_MOVE_COORDINATE_VECTOR = {-9, -7, 7, 9};
-    private final static Map<Integer, Line[]> PRECOMPUTED_CANDIDATES = computeCandidates();
-
     public Bishop(final Alliance pieceAlliance,
                   final int piecePosition) {
         super(PieceType.BISHOP, piecePosition, pieceAlliance, true);
@@ -25,42 +20,9 @@ public class Bishop extends Piece {
         super(PieceType.BISHOP, piecePosition, pieceAlliance, isFirstMove);
     }
 
-    // FIXME: diagonal has problem
     @Override
     public Collection<Move> calculateLegalMoves(final Board board) {
-        final List<Move> legalMoves = new ArrayList<>();
-
-        for (final int candidateCoordinateOffset : CANDIDATE_MOVE_COORDINATE_VECTOR) {
-
-            int candidateDestinationCoordinate = this.piecePosition;
-
-            while (BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-
-                if (isFirstColumnExclusion(candidateDestinationCoordinate, candidateCoordinateOffset) ||
-                        isEighthColumnExclusion(candidateDestinationCoordinate, candidateCoordinateOffset)) {
-                    break;
-                }
-
-                candidateDestinationCoordinate += candidateCoordinateOffset;
-
-                if (BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-                    final Tile candidateDestinationTile = board.getTile(candidateDestinationCoordinate);
-
-                    if (!candidateDestinationTile.isTileOccupied()) {
-                        legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
-                    } else {
-                        final Piece pieceAtDestination = candidateDestinationTile.getPiece();
-                        final Alliance pieceAlliance = pieceAtDestination.getPieceAlliance();
-                        if (this.pieceAlliance != pieceAlliance) {
-                            legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate, pieceAtDestination));
-                        }
-                        break;
-                    }
-                }
-            }
-        }
-
-        return ImmutableList.copyOf(legalMoves);
+        return calculateSliderMoves(board, BitBoardUtils.bishopAttacks(this.piecePosition, board.getOccupiedBitBoard()));
     }
 
     @Override
@@ -72,44 +34,4 @@ public class Bishop extends Piece {
     public String toString() {
         return PieceType.BISHOP.toString();
     }
-
-    private static boolean isFirstColumnExclusion(final int currentPosition, final int candidateOffset) {
-        return BoardUtils.FIRST_COLUMN[currentPosition]
-                && ((candidateOffset == -9)
-                || (candidateOffset == 7));
-    }
-
-    private static boolean isEighthColumnExclusion(final int currentPosition, final int candidateOffset) {
-        return BoardUtils.EIGHTH_COLUMN[currentPosition]
-                && ((candidateOffset == -7)
-                || (candidateOffset == 9));
-    }
-
-    private static Map<Integer, MoveUtils.Line[]> computeCandidates() {
-        Map<Integer, MoveUtils.Line[]> candidates = new HashMap<>();
-        for (int position = 0; position < BoardUtils.NUM_TILES; position++) {
-            List<MoveUtils.Line> lines = new ArrayList<>();
-            for (int offset : CANDIDATE_MOVE_COORDINATE_VECTOR) {
-                int destination = position;
-                MoveUtils.Line line = new MoveUtils.Line();
-                while (BoardUtils.isValidTileCoordinate(destination)) {
-                    if (isFirstColumnExclusion(destination, offset) ||
-                            isEighthColumnExclusion(destination, offset)) {
-                        break;
-                    }
-                    destination += offset;
-                    if (BoardUtils.isValidTileCoordinate(destination)) {
-                        line.addCoordinate(destination);
-                    }
-                }
-                if (!line.isEmpty()) {
-                    lines.add(line);
-                }
-            }
-            if (!lines.isEmpty()) {
-                candidates.put(position, lines.toArray(new MoveUtils.Line[0]));
-            }
-        }
-        return Collections.unmodifiableMap(candidates);
-    }
 }
@@ -14,6 +14,8 @@ import static com.chess.engine.board.Move.*;
 public class King extends Piece {
 
     private final static int[] CANDIDATE_MOVE_COORDINATE = {-9, -8, -7, -1, 1, 7, 8, 9};
+    private final static int[][] PRECOMPUTED_CANDIDATES = computeStepCandidates(CANDIDATE_MOVE_COORDINATE,
+            (position, offset) -> isFirstColumnExclusion(position, offset) || isEighthColumnExclusion(position, offset));
     private final boolean isCastled;
     private final boolean kingSideCastleCapable;
     private final boolean queenSideCastleCapable;
@@ -56,40 +58,29 @@ public class King extends Piece {
     public Collection<Move> calculateLegalMoves(final Board board) {
         final List<Move> legalMoves = new ArrayList<>();
 
-        for (final int currentCandidateOffset : CANDIDATE_MOVE_COORDINATE) {
-            final int candidateDestinationCoordinate = this.piecePosition + currentCandidateOffset;
-            boolean isValidCoordinate = BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate);
-            boolean isFirstColumnExclusion = isFirstColumnExclusion(this.piecePosition, currentCandidateOffset);
-            boolean isEighthColumnExclusion = isEighthColumnExclusion(this.piecePosition, currentCandidateOffset);
+        for (final int candidateDestinationCoordinate : PRECOMPUTED_CANDIDATES[this.piecePosition]) {
+            final Tile candidateDestinationTile = board.getTile(candidateDestinationCoordinate);
+            if (!candidateDestinationTile.isTileOccupied()) { // not occupied then add sort of a non-atacking legal move
+                legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
+            } else {
+                final Piece pieceAtDestination = candidateDestinationTile.getPiece();
+                final Alliance pieceAlliance = pieceAtDestination.getPieceAlliance();
 
-            if (isFirstColumnExclusion || isEighthColumnExclusion) {
-                continue;
-            }
-
-            if (isValidCoordinate) {
-                final Tile candidateDestinationTile = board.getTile(candidateDestinationCoordinate);
-                if (!candidateDestinationTile.isTileOccupied()) { // not occupied then add sort of a non-atacking legal move
-                    legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
-                } else {
-                    final Piece pieceAtDestination = candidateDestinationTile.getPiece();
-                    final Alliance pieceAlliance = pieceAtDestination.getPieceAlliance();
-
-                    if (this.pieceAlliance != pieceAlliance) { // enemy piece
-                        legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate, pieceAtDestination));
-                    }
+                if (this.pieceAlliance != pieceAlliance) { // enemy piece
+                    legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate, pieceAtDestination));
                 }
             }
-
         }
 
         return ImmutableList.copyOf(legalMoves);
     }
 
+    // a king that has castled stays castled wherever it goes afterwards
     @Override
     public King movePiece(final Move move) {
         return new King(move.getMovedPiece().getPieceAlliance(),
                 move.getDestinationCoordinate(),
-                false, move.isCastlingMove(),
+                false, this.isCastled || move.isCastlingMove(),
                 false, false);
     }
 
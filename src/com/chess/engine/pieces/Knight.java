@@ -14,6 +14,9 @@ import static com.chess.engine.board.Move.*;
 public class Knight extends Piece {
     // These are offsets with respect to our current position
     private final static int[] CANDIDATE_MOVE_COORDINATES = {-17, -15, -10, -6, 6, 10, 15, 17};
+    private final static int[][] PRECOMPUTED_CANDIDATES = computeStepCandidates(CANDIDATE_MOVE_COORDINATES,
+            (position, offset) -> isFirstColumnExclusion(position, offset) || isSecondColumnExclusion(position, offset)
+                    || isSeventhColumnExclusion(position, offset) || isEighthColumnExclusion(position, offset));
 
     public Knight(final Alliance pieceAlliance,
                   final int piecePosition) {
@@ -30,29 +33,16 @@ public class Knight extends Piece {
     public Collection<Move> calculateLegalMoves(final Board board) {
         final List<Move> legalMoves = new ArrayList<>();
 
-        for (final int currentCandidateOffset : CANDIDATE_MOVE_COORDINATES) { // apply the offset to the current position
-            final int candidateDestinationCoordinate = this.piecePosition + currentCandidateOffset;
-            boolean isFirstColumnExclusion = isFirstColumnExclusion(this.piecePosition, currentCandidateOffset);
-            boolean isSecondColumnExclusion = isSecondColumnExclusion(this.piecePosition, currentCandidateOffset);
-            boolean isSeventhColumnExclusion = isSeventhColumnExclusion(this.piecePosition, currentCandidateOffset);
-            boolean isEightColumnExclusion = isEighthColumnExclusion(this.piecePosition, currentCandidateOffset);
-
-            if (BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-                if (isFirstColumnExclusion || isSecondColumnExclusion
-                        || isSeventhColumnExclusion || isEightColumnExclusion) {
-                    continue;
-                }
-
-                final Tile candidateDestinationTile = board.getTile(candidateDestinationCoordinate);
-                if (!candidateDestinationTile.isTileOccupied()) { // not occupied then add sort of a non-atacking legal move
-                    legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
-                } else {
-                    final Piece pieceAtDestination = candidateDestinationTile.getPiece();
-                    final Alliance pieceAlliance = pieceAtDestination.getPieceAlliance();
+        for (final int candidateDestinationCoordinate : PRECOMPUTED_CANDIDATES[this.piecePosition]) {
+            final Tile candidateDestinationTile = board.getTile(candidateDestinationCoordinate);
+            if (!candidateDestinationTile.isTileOccupied()) { // not occupied then add sort of a non-atacking legal move
+                legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
+            } else {
+                final Piece pieceAtDestination = candidateDestinationTile.getPiece();
+                final Alliance pieceAlliance = pieceAtDestination.getPieceAlliance();
 
-                    if (this.pieceAlliance != pieceAlliance) { // enemy piece
-                        legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate, pieceAtDestination));
-                    }
+                if (this.pieceAlliance != pieceAlliance) { // enemy piece
+                    legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate, pieceAtDestination));
                 }
             }
         }
@@ -1,10 +1,15 @@
 package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoardUtils;
 import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
+import com.chess.engine.board.Tile;
+import com.google.common.collect.ImmutableList;
 
 import java.util.*;
+import java.util.function.BiPredicate;
 
 public abstract class Piece {
     protected final PieceType pieceType;
@@ -77,6 +82,47 @@ public abstract class Piece {
 
     public abstract Piece movePiece(Move move);
 
+    // CANDIDATES[tile] = the tiles one step of each offset reaches from tile, built once per piece class so move
+    // generation only reads them; isExcluded(tile, offset) tells when a step would wrap around the edge of the board
+    static int[][] computeStepCandidates(final int[] offsets, final BiPredicate<Integer, Integer> isExcluded) {
+        final int[][] candidates = new int[BoardUtils.NUM_TILES][];
+        for (int position = 0; position < BoardUtils.NUM_TILES; position++) {
+            final List<Integer> destinations = new ArrayList<>();
+            for (final int offset : offsets) {
+                if (BoardUtils.isValidTileCoordinate(position + offset) && !isExcluded.test(position, offset)) {
+                    destinations.add(position + offset);
+                }
+            }
+            candidates[position] = toArray(destinations);
+        }
+        return candidates;
+    }
+
+    // the moves of a slider whose attacked tiles, up to and including the first blocker of each ray, are given
+    Collection<Move> calculateSliderMoves(final Board board, final long attacks) {
+        final List<Move> legalMoves = new ArrayList<>();
+        long destinations = attacks & ~board.getPiecesBitBoard(this.pieceAlliance);
+
+        while (destinations != 0) {
+            final int candidateDestinationCoordinate = BitBoardUtils.firstTile(destinations);
+            destinations = BitBoardUtils.clearFirstTile(destinations);
+
+            final Tile candidateDestinationTile = board.getTile(candidateDestinationCoordinate);
+            if (!candidateDestinationTile.isTileOccupied()) {
+                legalMoves.add(new Move.MajorMove(board, this, candidateDestinationCoordinate));
+            } else {
+                legalMoves.add(new Move.MajorAttackMove(board, this, candidateDestinationCoordinate,
+                        candidateDestinationTile.getPiece()));
+            }
+        }
+
+        return ImmutableList.copyOf(legalMoves);
+    }
+
+    private static int[] toArray(final List<Integer> tiles) {
+        return tiles.stream().mapToInt(Integer::intValue).toArray();
+    }
+
     public enum PieceType {
         PAWN("P", 100) {
             @Override
@@ -3,6 +3,7 @@ package com.chess.engine.player;
 import com.chess.engine.Alliance;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
+import com.chess.engine.board.SearchBoard;
 import com.chess.engine.board.Tile;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.pieces.Rook;
@@ -15,10 +16,15 @@ import java.util.List;
 import static com.chess.engine.board.Move.*;
 
 public class BlackPlayer extends Player {
-    public BlackPlayer(final Board board,
-                       final Collection<Move> whiteStandardLegalMoves,
-                       final Collection<Move> blackStandardLegalMoves) {
-        super(board, blackStandardLegalMoves, whiteStandardLegalMoves);
+    private static final int KING_START_TILE = 4;
+
+    public BlackPlayer(final Board board) {
+        super(board);
+    }
+
+    @Override
+    protected Collection<Move> getStandardLegalMoves() {
+        return this.board.getBlackStandardLegalMoves();
     }
 
     @Override
@@ -37,31 +43,31 @@ public class BlackPlayer extends Player {
     }
 
     @Override
-    protected Collection<Move> calculateKingCastle(final Collection<Move> playerLegals,
-                                                   final Collection<Move> opponentLegals) {
+    protected Collection<Move> calculateKingCastle() {
         final List<Move> kingCastles = new ArrayList<>();
 
-        if (this.playerKing.isFirstMove() && !this.isInCheck()) {
+        if (this.playerKing.isFirstMove() && this.playerKing.getPiecePosition() == KING_START_TILE && !this.isInCheck()) {
             // black king side
-            castleKingSide(opponentLegals, kingCastles);
+            castleKingSide(kingCastles);
 
             // black queen side
-            castleQueenSide(opponentLegals, kingCastles);
+            castleQueenSide(kingCastles);
         }
 
         return ImmutableList.copyOf(kingCastles);
     }
 
-    private void castleQueenSide(Collection<Move> opponentLegals, List<Move> kingCastles) {
-        if (!this.board.getTile(3).isTileOccupied()
+    private void castleQueenSide(List<Move> kingCastles) {
+        if ((this.board.getCastleRights() & SearchBoard.BLACK_QUEEN_SIDE_CASTLE) != 0
+                && !this.board.getTile(3).isTileOccupied()
                 && !this.board.getTile(2).isTileOccupied()
                 && !this.board.getTile(1).isTileOccupied()) {
 
             final Tile rookTile = this.board.getTile(0);
 
             if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) {
-                if (Player.calculateAttackOnTile(3, opponentLegals).isEmpty()
-                        && Player.calculateAttackOnTile(2, opponentLegals).isEmpty()
+                if (!this.board.isSquareAttacked(3, Alliance.WHITE)
+                        && !this.board.isSquareAttacked(2, Alliance.WHITE)
                         && rookTile.getPiece().getPieceType().isRook()) {
                     kingCastles.add(new QueenSideCastleMove(this.board, this.playerKing, 2, // king position when castle
                             (Rook) rookTile.getPiece(), rookTile.getTileCoordinate(), 3));  // rook position when castle
@@ -70,15 +76,16 @@ public class BlackPlayer extends Player {
         }
     }
 
-    private void castleKingSide(Collection<Move> opponentLegals, List<Move> kingCastles) {
-        if (!this.board.getTile(5).isTileOccupied()
+    private void castleKingSide(List<Move> kingCastles) {
+        if ((this.board.getCastleRights() & SearchBoard.BLACK_KING_SIDE_CASTLE) != 0
+                && !this.board.getTile(5).isTileOccupied()
                 && !this.board.getTile(6).isTileOccupied()) {
 
             final Tile rookTile = this.board.getTile(7);
 
             if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) {
-                if (Player.calculateAttackOnTile(5, opponentLegals).isEmpty()
-                        && Player.calculateAttackOnTile(6, opponentLegals).isEmpty()
+                if (!this.board.isSquareAttacked(5, Alliance.WHITE)
+                        && !this.board.isSquareAttacked(6, Alliance.WHITE)
                         && rookTile.getPiece().getPieceType().isRook()) {
                     kingCastles.add(new KingSideCastleMove(this.board, this.playerKing, 6,
                             (Rook) rookTile.getPiece(), rookTile.getTileCoordinate(), 5));
@@ -2,6 +2,7 @@ package com.chess.engine.player;
 
 import com.chess.engine.Alliance;
 import com.chess.engine.board.Board;
+import com.chess.engine.board.LegalMoveFilter;
 import com.chess.engine.board.Move;
 import com.chess.engine.pieces.King;
 import com.chess.engine.pieces.Piece;
@@ -9,22 +10,17 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 
 import java.util.*;
-import java.util.stream.Collectors;
-
-import static java.util.stream.Collectors.collectingAndThen;
 
 public abstract class Player {
     protected final Board board;
     protected final King playerKing;
-    protected final Collection<Move> legalMoves;
-    private final boolean isInCheck;
+    // both are computed on first access and then memoized
+    private Collection<Move> legalMoves;
+    private Boolean isInCheck;
 
-    Player(final Board board, final Collection<Move> legalMoves, final Collection<Move> opponentMoves) {
+    Player(final Board board) {
         this.board = board;
         this.playerKing = etablishKing();
-
-        this.legalMoves = ImmutableList.copyOf(Iterables.concat(legalMoves, calculateKingCastle(legalMoves, opponentMoves)));
-        this.isInCheck = !Player.calculateAttackOnTile(this.playerKing.getPiecePosition(), opponentMoves).isEmpty();
     }
 
     public Piece getPlayerKing() {
@@ -32,14 +28,14 @@ public abstract class Player {
     }
 
     public Collection<Move> getLegalMoves() {
-        return legalMoves;
-    }
-
-    static Collection<Move> calculateAttackOnTile(final int tile,
-                                                  final Collection<Move> moves) {
-        return moves.stream()
-                .filter(move -> move.getDestinationCoordinate() == tile)
-                .collect(collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
+        if (this.legalMoves == null) {
+            // pins and checks are resolved up front, so every listed move can be executed as it is
+            final LegalMoveFilter legalMoveFilter = this.board.createLegalMoveFilter(getAlliance());
+            this.legalMoves = ImmutableList.copyOf(Iterables.concat(
+                    Iterables.filter(getStandardLegalMoves(), legalMoveFilter::isLegal),
+                    calculateKingCastle()));
+        }
+        return this.legalMoves;
     }
 
     private King etablishKing() {
@@ -53,23 +49,26 @@ public abstract class Player {
     }
 
     public boolean isMoveLegal(final Move move) {
-        return /*move != null && move.getMovedPiece() != null &&*/ this.legalMoves.contains(move);
+        return /*move != null && move.getMovedPiece() != null &&*/ getLegalMoves().contains(move);
     }
 
     public boolean isInCheck() {
+        if (this.isInCheck == null) {
+            this.isInCheck = this.board.isSquareAttacked(this.playerKing.getPiecePosition(), getOpponent().getAlliance());
+        }
         return this.isInCheck;
     }
 
     public boolean isInCheckMate() {
-        return this.isInCheck && hasEscapeMoves();
+        return isInCheck() && !hasEscapeMoves();
     }
 
     public boolean isInStaleMate() {
-        return !this.isInCheck && hasEscapeMoves();
+        return !isInCheck() && !hasEscapeMoves();
     }
 
     public boolean isCastle() {
-        return false;
+        return this.playerKing.isCastled();
     }
 
     public boolean isKingSideCastleCapable() {
@@ -81,34 +80,26 @@ public abstract class Player {
     }
 
     protected boolean hasEscapeMoves() {
-        return this.legalMoves.stream()
-                .noneMatch(move -> makeMove(move)
-                        .getMoveStatus().isDone());
+        return !getLegalMoves().isEmpty();
     }
 
+    // the legal move list already excludes moves that leave the king attacked, so a listed move is always done
     public MoveTransition makeMove(final Move move) {
         if (!isMoveLegal(move)) {
             return new MoveTransition(this.board, move, MoveStatus.ILLEGAL_MOVE);
         }
 
-        final Board transitionBoard = move.execute();
-
-        final Collection<Move> kingAttacks =
-                Player.calculateAttackOnTile(transitionBoard.currentPlayer().getOpponent().getPlayerKing().getPiecePosition(),
-                        transitionBoard.currentPlayer().getLegalMoves());
-
-        if (!kingAttacks.isEmpty()) {
-            return new MoveTransition(this.board, move, MoveStatus.LEAVES_PLAYER_IN_CHECK);
-        }
-
-        return new MoveTransition(transitionBoard, move, MoveStatus.DONE);
+        return new MoveTransition(move.execute(), move, MoveStatus.DONE);
     }
 
+    // the pieces' own moves, without castling
+    protected abstract Collection<Move> getStandardLegalMoves();
+
     public abstract Collection<Piece> getActivePieces();
 
     public abstract Alliance getAlliance();
 
     public abstract Player getOpponent();
 
-    protected abstract Collection<Move> calculateKingCastle(Collection<Move> playerLegals, Collection<Move> opponentLegals);
+    protected abstract Collection<Move> calculateKingCastle();
 }
@@ -3,6 +3,7 @@ package com.chess.engine.player;
 import com.chess.engine.Alliance;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
+import com.chess.engine.board.SearchBoard;
 import com.chess.engine.board.Tile;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.pieces.Rook;
@@ -13,10 +14,15 @@ import java.util.*;
 import static com.chess.engine.board.Move.*;
 
 public class WhitePlayer extends Player {
-    public WhitePlayer(final Board board,
-                       final Collection<Move> whiteStandardLegalMoves,
-                       final Collection<Move> blackStandardLegalMoves) {
-        super(board, whiteStandardLegalMoves, blackStandardLegalMoves);
+    private static final int KING_START_TILE = 60;
+
+    public WhitePlayer(final Board board) {
+        super(board);
+    }
+
+    @Override
+    protected Collection<Move> getStandardLegalMoves() {
+        return this.board.getWhiteStandardLegalMoves();
     }
 
     @Override
@@ -35,30 +41,30 @@ public class WhitePlayer extends Player {
     }
 
     @Override
-    protected Collection<Move> calculateKingCastle(final Collection<Move> playerLegals,
-                                                   final Collection<Move> opponentLegals) {
+    protected Collection<Move> calculateKingCastle() {
         final List<Move> kingCastles = new ArrayList<>();
 
-        if (this.playerKing.isFirstMove() && !this.isInCheck()) {
+        if (this.playerKing.isFirstMove() && this.playerKing.getPiecePosition() == KING_START_TILE && !this.isInCheck()) {
             // white king side
-            castleKingSide(opponentLegals, kingCastles);
+            castleKingSide(kingCastles);
 
             // white queen side
-            castleQueenSide(opponentLegals, kingCastles);
+            castleQueenSide(kingCastles);
         }
 
         return ImmutableList.copyOf(kingCastles);
     }
 
-    private void castleKingSide(Collection<Move> opponentLegals, List<Move> kingCastles) {
-        if (!this.board.getTile(61).isTileOccupied()
+    private void castleKingSide(List<Move> kingCastles) {
+        if ((this.board.getCastleRights() & SearchBoard.WHITE_KING_SIDE_CASTLE) != 0
+                && !this.board.getTile(61).isTileOccupied()
                 && !this.board.getTile(62).isTileOccupied()) {
 
             final Tile rookTile = this.board.getTile(63);
 
             if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) {
-                if (Player.calculateAttackOnTile(61, opponentLegals).isEmpty()
-                        && Player.calculateAttackOnTile(62, opponentLegals).isEmpty()
+                if (!this.board.isSquareAttacked(61, Alliance.BLACK)
+                        && !this.board.isSquareAttacked(62, Alliance.BLACK)
                         && rookTile.getPiece().getPieceType().isRook()) {
                     kingCastles.add(new KingSideCastleMove(this.board, this.playerKing, 62,
                             (Rook) rookTile.getPiece(), rookTile.getTileCoordinate(), 61));
@@ -67,16 +73,17 @@ public class WhitePlayer extends Player {
         }
     }
 
-    private void castleQueenSide(Collection<Move> opponentLegals, List<Move> kingCastles) {
-        if (!this.board.getTile(59).isTileOccupied()
+    private void castleQueenSide(List<Move> kingCastles) {
+        if ((this.board.getCastleRights() & SearchBoard.WHITE_QUEEN_SIDE_CASTLE) != 0
+                && !this.board.getTile(59).isTileOccupied()
                 && !this.board.getTile(58).isTileOccupied()
                 && !this.board.getTile(57).isTileOccupied()) {
 
             final Tile rookTile = this.board.getTile(56);
 
             if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) {
-                if (Player.calculateAttackOnTile(59, opponentLegals).isEmpty()
-                        && Player.calculateAttackOnTile(58, opponentLegals).isEmpty()
+                if (!this.board.isSquareAttacked(59, Alliance.BLACK)
+                        && !this.board.isSquareAttacked(58, Alliance.BLACK)
                         && rookTile.getPiece().getPieceType().isRook()) {
                     kingCastles.add(new QueenSideCastleMove(this.board, this.playerKing, 58, // king position when castle
                             (Rook) rookTile.getPiece(), rookTile.getTileCoordinate(), 59)); // rook position when castle
@@ -2,124 +2,475 @@ package com.chess.engine.player.ai;
 
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
-import com.chess.engine.player.MoveTransition;
+import com.chess.engine.board.MoveUtils;
+import com.chess.engine.board.SearchBoard;
 
 public class AlphaBeta implements MoveStrategy {
+    // the clock is read once per this many nodes
+    private static final int NODES_PER_TIME_CHECK = 1024;
+    // a capture that cannot lift the static score to alpha even with this much positional change is not tried
+    private static final int DELTA_MARGIN = 200;
+    // below this depth a reduced search would drop straight into quiescence, so nothing is pruned or reduced
+    private static final int MIN_SELECTIVE_DEPTH = 3;
+    // wider than any score, and unlike Integer.MIN_VALUE safe to negate
+    static final int INFINITY = 1_000_000_000;
+
+    public static final int DEFAULT_NULL_MOVE_REDUCTION = 2;
+    public static final int DEFAULT_LATE_MOVE_REDUCTION = 1;
+    public static final int DEFAULT_LATE_MOVE_INDEX = 3;
+
     final BoardEvaluator boardEvaluator;
     private final int searchDepth;
-    private long boardsEvaluated;
+    private final TranspositionTable transpositionTable;
+    private final MoveOrderer moveOrderer;
+    private final SearchStats searchStats;
+    private final MoveBuffers moveBuffers;
+    // one per ply, allocated the first time the search reaches it
+    private final MovePicker[] movePickers;
+    // selective search, a reduction of 0 turns the technique off
+    private int nullMoveReduction;
+    private int lateMoveReduction;
+    private int lateMoveIndex;
+    // every move after the first is only tested against a null window, see PrincipalVariationSearch
+    private boolean isPrincipalVariationSearch;
+    // search limits, unlimited unless an iterative deepening driver sets them
+    private long nodesSearched;
+    // may be moved by a ponder hit while the search runs
+    private volatile long stopTime;
+    private long maxNodes;
+    private boolean isStopped;
+    // set from another thread, read with the clock
+    private volatile boolean isStopRequested;
+    // best root move of the running searchRoot() so far, what a stopped execute() plays
+    private int rootBestMove;
+    // score of the root move the last searchRoot() returned, a bound when it fell outside the window
+    private int rootValue;
 
     public AlphaBeta(int searchDepth) {
+        this(searchDepth, TranspositionTable.DEFAULT_SIZE_IN_MEGABYTES);
+    }
+
+    public AlphaBeta(final int searchDepth, final int transpositionTableSizeInMegaBytes) {
+        this(searchDepth, transpositionTableSizeInMegaBytes,
+                DEFAULT_NULL_MOVE_REDUCTION, DEFAULT_LATE_MOVE_REDUCTION, DEFAULT_LATE_MOVE_INDEX);
+    }
+
+    // the reductions as setNullMoveReduction() and setLateMoveReductions() take them
+    public AlphaBeta(final int searchDepth,
+                     final int transpositionTableSizeInMegaBytes,
+                     final int nullMoveReduction,
+                     final int lateMoveReduction,
+                     final int lateMoveIndex) {
+        this(searchDepth, new TranspositionTable(transpositionTableSizeInMegaBytes),
+                nullMoveReduction, lateMoveReduction, lateMoveIndex);
+    }
+
+    // several searches may share one table, see LazySmp
+    AlphaBeta(final int searchDepth, final TranspositionTable transpositionTable) {
+        this(searchDepth, transpositionTable,
+                DEFAULT_NULL_MOVE_REDUCTION, DEFAULT_LATE_MOVE_REDUCTION, DEFAULT_LATE_MOVE_INDEX);
+    }
+
+    AlphaBeta(final int searchDepth,
+              final TranspositionTable transpositionTable,
+              final int nullMoveReduction,
+              final int lateMoveReduction,
+              final int lateMoveIndex) {
         this.boardEvaluator = new StandardBoardEvaluator();
-        this.boardsEvaluated = 0;
         this.searchDepth = searchDepth;
+        this.transpositionTable = transpositionTable;
+        this.moveOrderer = new MoveOrderer();
+        this.searchStats = new SearchStats();
+        this.moveBuffers = new MoveBuffers();
+        this.movePickers = new MovePicker[SearchBoard.MAX_PLY];
+        this.stopTime = Long.MAX_VALUE;
+        this.maxNodes = Long.MAX_VALUE;
+        this.nullMoveReduction = Math.max(0, nullMoveReduction);
+        this.lateMoveReduction = Math.max(0, lateMoveReduction);
+        this.lateMoveIndex = Math.max(1, lateMoveIndex);
     }
 
     @Override
     public Move execute(Board board) {
-        final long startTime = System.currentTimeMillis();
-
-        Move bestMove = null;
-        int highestSeenValue = Integer.MIN_VALUE;
-        int lowestSeenValue = Integer.MAX_VALUE;
-        int currentValue;
-
-        System.out.println(board.currentPlayer() + " Thinking with depth = " + this.searchDepth);
-        int numMoves = board.currentPlayer().getLegalMoves().size();
-
-        AlphaBeta alphaBeta = new AlphaBeta(this.searchDepth);
-
-        for (final Move move : board.currentPlayer().getLegalMoves()) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
-                currentValue = board.currentPlayer().getAlliance().isWhite()
-                        ? alphaBeta.min(moveTransition.getTransitionBoard(), this.searchDepth - 1
-                        , Integer.MIN_VALUE, Integer.MAX_VALUE)
-                        : alphaBeta.max(moveTransition.getTransitionBoard(), this.searchDepth - 1
-                        , Integer.MIN_VALUE, Integer.MAX_VALUE);
-
-                if (board.currentPlayer().getAlliance().isWhite() && (currentValue >= highestSeenValue)) {
-                    highestSeenValue = currentValue;
-                    bestMove = move;
-                } else if (board.currentPlayer().getAlliance().isBlack() && (currentValue <= lowestSeenValue)) {
-                    lowestSeenValue = currentValue;
-                    bestMove = move;
-                }
-            }
+        // the table is kept from move to move, the positions after our move and the reply are often in it already
+        newSearch();
+        setLimits(Long.MAX_VALUE, Long.MAX_VALUE);
+        this.searchStats.start();
+        // the tree below the root is searched on one mutable board with make/unmake
+        final SearchBoard searchBoard = new SearchBoard(board);
+        final int searchedMove = searchRoot(searchBoard, this.searchDepth, MoveUtils.NO_MOVE);
+        final int bestMove = searchedMove != MoveUtils.NO_MOVE ? searchedMove : this.rootBestMove;
+        if (searchedMove != MoveUtils.NO_MOVE) {
+            this.searchStats.completeDepth(this.searchDepth);
         }
+        this.searchStats.finish();
+        clearStop();
+
+        return MoveUtils.decode(board, bestMove);
+    }
+
+    // the search gives up once either limit is passed, Long.MAX_VALUE means no limit; a stop request outlasts it
+    void setLimits(final long stopTime, final long maxNodes) {
+        this.stopTime = stopTime;
+        this.maxNodes = maxNodes;
+        this.nodesSearched = 0;
+        this.isStopped = false;
+    }
+
+    void setStopTime(final long stopTime) {
+        this.stopTime = stopTime;
+    }
+
+    // ends the running search from another thread, at the next clock check, or the next search to start
+    @Override
+    public void stop() {
+        this.isStopRequested = true;
+    }
+
+    // called once the search the request was meant for has returned
+    void clearStop() {
+        this.isStopRequested = false;
+    }
+
+    // the null move is searched this many plies shallower than a real move, one more above depth 6
+    public void setNullMoveReduction(final int nullMoveReduction) {
+        this.nullMoveReduction = Math.max(0, nullMoveReduction);
+    }
+
+    // quiet moves from the given place in the move order on are first searched this many plies shallower
+    public void setLateMoveReductions(final int lateMoveReduction, final int lateMoveIndex) {
+        this.lateMoveReduction = Math.max(0, lateMoveReduction);
+        this.lateMoveIndex = Math.max(1, lateMoveIndex);
+    }
 
-        final long executionTime = System.currentTimeMillis() - startTime;
-        System.out.println("Execution Time: " + executionTime);
+    void setPrincipalVariationSearch(final boolean isPrincipalVariationSearch) {
+        this.isPrincipalVariationSearch = isPrincipalVariationSearch;
+    }
+
+    void newSearch() {
+        this.transpositionTable.newSearch();
+        newMoveOrdering();
+    }
+
+    // the killers and history alone, for a search whose shared table is aged by its owner
+    void newMoveOrdering() {
+        this.moveOrderer.newSearch();
+    }
+
+    // forgets the table, killers and history, so the next search starts as the first one did
+    public void clear() {
+        this.transpositionTable.clear();
+        this.moveOrderer.clear();
+    }
 
+    TranspositionTable getTranspositionTable() {
+        return this.transpositionTable;
+    }
+
+    boolean isStopped() {
+        return this.isStopped;
+    }
+
+    int getRootBestMove() {
+        return this.rootBestMove;
+    }
+
+    long getNodesSearched() {
+        return this.nodesSearched;
+    }
+
+    int getRootValue() {
+        return this.rootValue;
+    }
+
+    // searches every root move to the depth and returns the best one, firstMove is tried first; NO_MOVE when the
+    // limits stopped the search before it finished
+    int searchRoot(final SearchBoard searchBoard, final int depth, final int firstMove) {
+        return searchRoot(searchBoard, depth, -INFINITY, INFINITY, firstMove);
+    }
+
+    // The same within a window. When every move fails low the first one is returned with alpha as its value, when
+    // one fails high it is returned at once with beta; getRootValue() tells which.
+    int searchRoot(final SearchBoard searchBoard, final int depth, int alpha, final int beta, final int firstMove) {
+        int bestMove = MoveUtils.NO_MOVE;
+
+        // the root moves come from the search board too, only the chosen one is turned back into a Move
+        final int[] rootMoves = this.moveBuffers.forPly(searchBoard.getPly());
+        final int rootMoveCount = searchBoard.calculateLegalMoves(rootMoves);
+        this.moveOrderer.orderMoves(rootMoves, rootMoveCount, firstMove, searchBoard.getPly());
+        // before any move is searched the hash move is the best guess
+        this.rootBestMove = rootMoveCount > 0 ? rootMoves[0] : MoveUtils.NO_MOVE;
+
+        for (int i = 0; i < rootMoveCount; i++) {
+            final int move = rootMoves[i];
+            searchBoard.make(move);
+            final int currentValue = searchChild(searchBoard, depth, alpha, beta, i == 0);
+            searchBoard.unmake();
+
+            if (this.isStopped) {
+                return MoveUtils.NO_MOVE;
+            }
+
+            // a later move that only ties fails low against the raised alpha, so the first best move is kept
+            if (currentValue > alpha || bestMove == MoveUtils.NO_MOVE) {
+                alpha = currentValue;
+                bestMove = move;
+                this.rootBestMove = move;
+            }
+
+            if (alpha >= beta) {
+                break;
+            }
+        }
+
+        this.rootValue = alpha;
         return bestMove;
     }
 
+    static int[] moveToFront(final int[] moves, final int move) {
+        for (int i = 0; i < moves.length; i++) {
+            if (moves[i] == move) {
+                System.arraycopy(moves, 0, moves, 1, i);
+                moves[0] = move;
+                break;
+            }
+        }
+        return moves;
+    }
+
+    private boolean isOutOfLimits() {
+        this.nodesSearched++;
+        this.searchStats.countNode();
+        if (this.nodesSearched >= this.maxNodes
+                || (this.nodesSearched % NODES_PER_TIME_CHECK == 0
+                && (this.isStopRequested || System.currentTimeMillis() >= this.stopTime))) {
+            this.isStopped = true;
+        }
+        return this.isStopped;
+    }
 
     @Override
     public String toString() {
-        return "Minimax";
+        return "AlphaBeta";
     }
 
     @Override
     public long getNumBoardsEvaluated() {
-        return this.boardsEvaluated;
+        return this.searchStats.getNodes();
     }
 
-    // cut down depth tree
-    boolean isEndGameScenario(final Board board) {
-        return board.currentPlayer().isInCheckMate()
-                || board.currentPlayer().isInStaleMate();
+    @Override
+    public SearchStats getSearchStats() {
+        return this.searchStats;
     }
 
-    public int min(final Board board, final int depth, int alpha, int beta) {
-        if (depth == 0 || isEndGameScenario(board)) {
-            return this.boardEvaluator.evaluate(board, depth);
+    // Negamax: every score is from the side to move, so one method serves both sides and the child's score is
+    // negated on the way up. The search fails hard, its value always lies within [alpha, beta].
+    public int search(final SearchBoard board, final int depth, int alpha, final int beta) {
+        if (depth <= 0) {
+            return quiescence(board, alpha, beta);
         }
 
-        int lowestSeenValue = beta;
+        // the value no longer matters once the search is stopped, the root throws the iteration away
+        if (isOutOfLimits()) {
+            return 0;
+        }
 
-        for (final Move move : board.currentPlayer().getLegalMoves()) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+        final long entry = this.transpositionTable.probe(board.getZobristKey());
+        this.searchStats.countProbe(entry);
+        if (isUsable(entry, depth, alpha, beta)) {
+            return Math.max(alpha, Math.min(beta, TranspositionTable.score(entry)));
+        }
+
+        // if passing the turn still holds beta, a real move would too
+        final boolean isInCheck = board.isInCheck();
+        if (isNullMoveAllowed(board, depth, isInCheck) && beta != INFINITY) {
+            board.makeNullMove();
+            final int nullMoveValue = -search(board, nullMoveDepth(depth), -beta, -beta + 1);
+            board.unmakeNullMove();
+            if (nullMoveValue >= beta && !this.isStopped) {
+                return beta;
+            }
+        }
 
-            if (moveTransition.getMoveStatus().isDone()) {
-                final int currentValue = max(moveTransition.getTransitionBoard(), depth - 1, alpha, lowestSeenValue);
-                if (currentValue <= lowestSeenValue) {
-                    lowestSeenValue = currentValue;
+        // an entry too shallow to answer the node still knows which move to try first; the quiet moves are only
+        // generated if neither it nor a capture or killer cuts the node off
+        final MovePicker movePicker = movePicker(board.getPly());
+        movePicker.reset(board, this.moveBuffers.forPly(board.getPly()), TranspositionTable.move(entry), board.getPly(), false);
+
+        final int originalAlpha = alpha;
+        int bestMove = MoveUtils.NO_MOVE;
+        int moveCount = 0;
+
+        for (int move = movePicker.nextMove(); move != MoveUtils.NO_MOVE; move = movePicker.nextMove()) {
+            board.make(move);
+            int currentValue;
+            if (isLateMoveReducible(board, move, moveCount, depth, isInCheck)) {
+                // a reduced null window search first, the full one only if the move may be better than the best so far
+                currentValue = -search(board, lateMoveDepth(depth), -alpha - 1, -alpha);
+                if (currentValue > alpha) {
+                    currentValue = searchChild(board, depth, alpha, beta, false);
                 }
+            } else {
+                currentValue = searchChild(board, depth, alpha, beta, moveCount == 0);
+            }
+            board.unmake();
 
-                if (lowestSeenValue <= alpha) {
-                    // Prune the search if the current value is less than or equal to alpha
-                    break;
+            if (currentValue >= beta) {
+                // Prune the search if the current value is greater than or equal to beta
+                this.moveOrderer.recordCutoff(move, board.getPly(), depth);
+                this.searchStats.countCutoff(moveCount);
+                if (!this.isStopped) {
+                    this.transpositionTable.store(board.getZobristKey(), depth, beta, TranspositionTable.LOWER_BOUND, move);
+                    this.searchStats.countStore();
                 }
+                return beta;
             }
+
+            if (currentValue > alpha) {
+                alpha = currentValue;
+                bestMove = move;
+            }
+            moveCount++;
+        }
+
+        // no legal moves is checkmate or stalemate, the evaluator tells them apart
+        if (moveCount == 0) {
+            return this.boardEvaluator.evaluateForMoveMaker(board, depth);
         }
 
-        return lowestSeenValue;
+        if (!this.isStopped) {
+            this.transpositionTable.store(board.getZobristKey(), depth, alpha,
+                    alpha > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER_BOUND, bestMove);
+            this.searchStats.countStore();
+        }
+        return alpha;
     }
 
-    public int max(final Board board, final int depth, int alpha, int beta) {
-        if (depth == 0 || isEndGameScenario(board)) {
-            return this.boardEvaluator.evaluate(board, depth);
+    // The value of the move just made, searched one ply shallower than the node. With principal variation search
+    // every move after the first is tested with a null window (alpha, alpha + 1): with good move ordering that test
+    // fails low almost always and costs far less than a full search. Only a move that passes it is searched again
+    // with the full window.
+    private int searchChild(final SearchBoard board,
+                            final int depth,
+                            final int alpha,
+                            final int beta,
+                            final boolean isFirstMove) {
+        if (this.isPrincipalVariationSearch && !isFirstMove && beta - alpha > 1) {
+            final int nullWindowValue = -search(board, depth - 1, -alpha - 1, -alpha);
+            if (nullWindowValue <= alpha || this.isStopped) {
+                return nullWindowValue;
+            }
         }
+        return -search(board, depth - 1, -beta, -alpha);
+    }
 
-        int highestSeenValue = alpha;
+    // Past the horizon only captures and promotions are searched, until the position is quiet, so the static score
+    // is never taken in the middle of an exchange. The side to move may stand pat on the static score instead of
+    // capturing, unless it is in check, where every evasion is searched and no evasion is mate.
+    private int quiescence(final SearchBoard board, int alpha, final int beta) {
+        if (isOutOfLimits()) {
+            return 0;
+        }
+        this.searchStats.countQuiescenceNode();
 
-        for (final Move move : board.currentPlayer().getLegalMoves()) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+        final boolean isInCheck = board.isInCheck();
+        int standPat = 0;
 
-            if (moveTransition.getMoveStatus().isDone()) {
-                final int currentValue = min(moveTransition.getTransitionBoard(), depth - 1, highestSeenValue, beta);
-                if (currentValue >= highestSeenValue) {
-                    highestSeenValue = currentValue;
-                }
+        if (!isInCheck) {
+            standPat = this.boardEvaluator.evaluateForMoveMaker(board, 0);
+            if (standPat >= beta) {
+                return beta;
+            }
+            alpha = Math.max(alpha, standPat);
+        }
 
-                if (highestSeenValue >= beta) {
-                    // Prune the search if the current value is greater than or equal to beta
-                    break;
-                }
+        // out of check the quiet moves are never generated
+        final MovePicker movePicker = movePicker(board.getPly());
+        movePicker.reset(board, this.moveBuffers.forPly(board.getPly()), MoveUtils.NO_MOVE, board.getPly(), !isInCheck);
+        boolean hasMoves = false;
+
+        for (int move = movePicker.nextMove(); move != MoveUtils.NO_MOVE; move = movePicker.nextMove()) {
+            hasMoves = true;
+
+            // delta pruning
+            if (!isInCheck && standPat + MoveOrderer.materialGain(move) + DELTA_MARGIN <= alpha) {
+                continue;
+            }
+
+            board.make(move);
+            final int currentValue = -quiescence(board, -beta, -alpha);
+            board.unmake();
+
+            if (currentValue >= beta) {
+                return beta;
             }
+
+            if (currentValue > alpha) {
+                alpha = currentValue;
+            }
+        }
+
+        // no evasion in check is mate
+        if (isInCheck && !hasMoves) {
+            return this.boardEvaluator.evaluateForMoveMaker(board, 0);
+        }
+
+        return alpha;
+    }
+
+    private MovePicker movePicker(final int ply) {
+        if (this.movePickers[ply] == null) {
+            this.movePickers[ply] = new MovePicker(this.moveOrderer);
+        }
+        return this.movePickers[ply];
+    }
+
+    // Not in check, where passing would be illegal, not twice in a row, and not with only pawns left, where
+    // zugzwang makes passing better than any real move and the null move would prune good lines.
+    private boolean isNullMoveAllowed(final SearchBoard board, final int depth, final boolean isInCheck) {
+        return this.nullMoveReduction > 0
+                && depth >= MIN_SELECTIVE_DEPTH
+                && !isInCheck
+                && !board.isAfterNullMove()
+                && board.hasNonPawnMaterial(board.getMoveMaker());
+    }
+
+    private int nullMoveDepth(final int depth) {
+        return Math.max(0, depth - 1 - this.nullMoveReduction - (depth > 6 ? 1 : 0));
+    }
+
+    // never below the horizon, however large the reduction is set
+    private int lateMoveDepth(final int depth) {
+        return Math.max(0, depth - 1 - this.lateMoveReduction);
+    }
+
+    // a quiet move far down the order is unlikely to be best; moves out of or into check are never reduced
+    private boolean isLateMoveReducible(final SearchBoard boardAfterMove,
+                                        final int move,
+                                        final int moveIndex,
+                                        final int depth,
+                                        final boolean wasInCheck) {
+        return this.lateMoveReduction > 0
+                && depth >= MIN_SELECTIVE_DEPTH
+                && moveIndex >= this.lateMoveIndex
+                && !wasInCheck
+                && !MoveOrderer.isTactical(move)
+                && !boardAfterMove.isInCheck();
+    }
+
+    // an entry answers the node when it was searched at least as deep and its bound settles the window
+    private static boolean isUsable(final long entry, final int depth, final int alpha, final int beta) {
+        if (entry == TranspositionTable.NO_ENTRY || TranspositionTable.depth(entry) < depth) {
+            return false;
         }
 
-        return highestSeenValue;
+        final int score = TranspositionTable.score(entry);
+        return switch (TranspositionTable.bound(entry)) {
+            case TranspositionTable.EXACT -> true;
+            case TranspositionTable.LOWER_BOUND -> score >= beta;
+            case TranspositionTable.UPPER_BOUND -> score <= alpha;
+            default -> false;
+        };
     }
 }
@@ -1,7 +1,16 @@
 package com.chess.engine.player.ai;
 
 import com.chess.engine.board.Board;
+import com.chess.engine.board.SearchBoard;
 
 public interface BoardEvaluator {
     int evaluate(Board board, int depth);
+
+    int evaluate(SearchBoard board, int depth);
+
+    // the score from the side to move's point of view instead of white's, as the negamax searches want it
+    default int evaluateForMoveMaker(final SearchBoard board, final int depth) {
+        final int score = evaluate(board, depth);
+        return board.getMoveMaker().isWhite() ? score : -score;
+    }
 }
@@ -0,0 +1,224 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.Move.MoveFactory;
+import com.chess.engine.board.MoveUtils;
+import com.chess.engine.board.SearchBoard;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+// Searches depth 1, 2, 3 ... with one AlphaBeta until the time or node budget runs out and plays the best move
+// of the last depth that finished. Each depth starts with the best move of the one before and reuses its
+// transposition table entries, so the shallow iterations cost little and the deep one cuts off early.
+public class IterativeDeepening implements PonderingMoveStrategy {
+    public static final int MAX_SEARCH_DEPTH = 64;
+
+    private final AlphaBeta alphaBeta;
+    private final int maxDepth;
+    private final long thinkingTimeMillis;
+    private final long maxNodes;
+    private final int firstDepth;
+    private long boardsEvaluated;
+    private volatile int completedDepth;
+    private volatile boolean isStopRequested;
+    // Long.MAX_VALUE while pondering, until a ponder hit sets the real one
+    private volatile long stopTime;
+    private long ponderStartTime;
+
+    public IterativeDeepening(final long thinkingTimeMillis) {
+        this(MAX_SEARCH_DEPTH, thinkingTimeMillis, Long.MAX_VALUE);
+    }
+
+    // Long.MAX_VALUE leaves the time or the node budget open
+    public IterativeDeepening(final int maxDepth, final long thinkingTimeMillis, final long maxNodes) {
+        this(maxDepth, thinkingTimeMillis, maxNodes, TranspositionTable.DEFAULT_SIZE_IN_MEGABYTES);
+    }
+
+    public IterativeDeepening(final int maxDepth,
+                              final long thinkingTimeMillis,
+                              final long maxNodes,
+                              final int transpositionTableSizeInMegaBytes) {
+        this(maxDepth, thinkingTimeMillis, maxNodes, transpositionTableSizeInMegaBytes, AlphaBeta.DEFAULT_NULL_MOVE_REDUCTION,
+                AlphaBeta.DEFAULT_LATE_MOVE_REDUCTION, AlphaBeta.DEFAULT_LATE_MOVE_INDEX);
+    }
+
+    // the reductions go to the AlphaBeta, see AlphaBeta.setNullMoveReduction() and setLateMoveReductions()
+    public IterativeDeepening(final int maxDepth,
+                              final long thinkingTimeMillis,
+                              final long maxNodes,
+                              final int transpositionTableSizeInMegaBytes,
+                              final int nullMoveReduction,
+                              final int lateMoveReduction,
+                              final int lateMoveIndex) {
+        this(new AlphaBeta(maxDepth, transpositionTableSizeInMegaBytes, nullMoveReduction, lateMoveReduction, lateMoveIndex),
+                maxDepth, thinkingTimeMillis, maxNodes, 1);
+    }
+
+    // a LazySmp helper shares the AlphaBeta's table with the other threads and may start deeper than depth 1
+    IterativeDeepening(final AlphaBeta alphaBeta,
+                       final int maxDepth,
+                       final long thinkingTimeMillis,
+                       final long maxNodes,
+                       final int firstDepth) {
+        this.alphaBeta = alphaBeta;
+        this.maxDepth = Math.max(1, Math.min(maxDepth, MAX_SEARCH_DEPTH));
+        this.thinkingTimeMillis = thinkingTimeMillis;
+        this.maxNodes = maxNodes;
+        this.firstDepth = Math.min(firstDepth, this.maxDepth);
+        this.boardsEvaluated = 0;
+        this.stopTime = Long.MAX_VALUE;
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        this.alphaBeta.newSearch();
+        final int bestMove = search(new SearchBoard(board), stopTimeFrom(System.currentTimeMillis()));
+        clearStop();
+        return MoveUtils.decode(board, bestMove);
+    }
+
+    @Override
+    public Move getExpectedReply(final Board board) {
+        return expectedReply(this.alphaBeta.getTranspositionTable(), board);
+    }
+
+    // the best move the table holds for the board, if it is legal there; a key collision could give any move
+    static Move expectedReply(final TranspositionTable transpositionTable, final Board board) {
+        final SearchBoard searchBoard = new SearchBoard(board);
+        final int move = TranspositionTable.move(transpositionTable.probe(searchBoard.getZobristKey()));
+        for (final int legalMove : searchBoard.calculateLegalMoves()) {
+            if (move != MoveUtils.NO_MOVE && legalMove == move) {
+                return MoveUtils.decode(board, move);
+            }
+        }
+        return MoveFactory.getNullMove();
+    }
+
+    // the state is set here rather than on the ponder thread, so a ponderHit() that comes before the thread is
+    // running is not lost; a stop() is kept until the pondering returns either way
+    @Override
+    public Future<Move> ponder(final Board board) {
+        this.alphaBeta.newSearch();
+        this.stopTime = Long.MAX_VALUE;
+        this.ponderStartTime = System.currentTimeMillis();
+        final SearchBoard searchBoard = new SearchBoard(board);
+        return startPonderThread(() -> {
+            final int bestMove = search(searchBoard);
+            clearStop();
+            return MoveUtils.decode(board, bestMove);
+        });
+    }
+
+    static Future<Move> startPonderThread(final Callable<Move> search) {
+        final FutureTask<Move> ponderTask = new FutureTask<>(search);
+        final Thread ponderThread = new Thread(ponderTask, "Ponder");
+        ponderThread.setDaemon(true);
+        ponderThread.start();
+        return ponderTask;
+    }
+
+    @Override
+    public void ponderHit() {
+        setStopTime(stopTimeFrom(this.ponderStartTime));
+    }
+
+    // depth 1 must finish, so the AlphaBeta only gets the new time once it is past it
+    void setStopTime(final long stopTime) {
+        this.stopTime = stopTime;
+        if (this.completedDepth > 0) {
+            this.alphaBeta.setStopTime(stopTime);
+        }
+    }
+
+    long stopTimeFrom(final long startTime) {
+        return this.thinkingTimeMillis == Long.MAX_VALUE ? Long.MAX_VALUE : startTime + this.thinkingTimeMillis;
+    }
+
+    // runs the iterations on the board and returns the best move of the deepest one that finished
+    int search(final SearchBoard searchBoard, final long stopTime) {
+        this.stopTime = stopTime;
+        return search(searchBoard);
+    }
+
+    // the same with the stop time already set
+    int search(final SearchBoard searchBoard) {
+        final SearchStats searchStats = this.alphaBeta.getSearchStats();
+        int bestMove = MoveUtils.NO_MOVE;
+
+        this.boardsEvaluated = 0;
+        this.completedDepth = 0;
+        searchStats.start();
+
+        for (int depth = this.firstDepth; depth <= this.maxDepth; depth++) {
+            // depth 1 always finishes, so there is a move to play however small the budget
+            final boolean isUnlimited = depth == 1;
+            this.alphaBeta.setLimits(isUnlimited ? Long.MAX_VALUE : this.stopTime,
+                    isUnlimited ? Long.MAX_VALUE : this.maxNodes - this.boardsEvaluated);
+            if (this.isStopRequested && !isUnlimited) {
+                break;
+            }
+
+            final int iterationBestMove = this.alphaBeta.searchRoot(searchBoard, depth, bestMove);
+            this.boardsEvaluated += this.alphaBeta.getNodesSearched();
+
+            if (iterationBestMove == MoveUtils.NO_MOVE) {
+                // stopped inside depth 1, the root moves it finished are all there is
+                if (bestMove == MoveUtils.NO_MOVE) {
+                    bestMove = this.alphaBeta.getRootBestMove();
+                }
+                break;
+            }
+
+            bestMove = iterationBestMove;
+            this.completedDepth = depth;
+            searchStats.completeDepth(depth);
+
+            if (System.currentTimeMillis() >= this.stopTime || this.boardsEvaluated >= this.maxNodes) {
+                break;
+            }
+        }
+
+        searchStats.finish();
+        return bestMove;
+    }
+
+    // see AlphaBeta.newMoveOrdering()
+    void newMoveOrdering() {
+        this.alphaBeta.newMoveOrdering();
+    }
+
+    // called once the search the stop was meant for has returned, so a stop() sent before it started is not lost
+    void clearStop() {
+        this.isStopRequested = false;
+        this.alphaBeta.clearStop();
+    }
+
+    // ends search() from another thread, or the next one to start; the iteration in progress is dropped
+    @Override
+    public void stop() {
+        this.isStopRequested = true;
+        this.alphaBeta.stop();
+    }
+
+    int getCompletedDepth() {
+        return this.completedDepth;
+    }
+
+    @Override
+    public String toString() {
+        return "IterativeDeepening";
+    }
+
+    @Override
+    public long getNumBoardsEvaluated() {
+        return this.boardsEvaluated;
+    }
+
+    @Override
+    public SearchStats getSearchStats() {
+        return this.alphaBeta.getSearchStats();
+    }
+}
@@ -0,0 +1,171 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveUtils;
+import com.chess.engine.board.SearchBoard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Lazy SMP: every thread runs its own iterative deepening on the same root and they only talk through one shared
+// transposition table. A thread that finishes a subtree leaves its result in the table, where the others pick it
+// up as a cutoff or a best move to try first. Half of the helpers start one depth deeper, so the threads spread
+// over neighbouring depths instead of all repeating the same work.
+public class LazySmp implements PonderingMoveStrategy {
+    private final TranspositionTable transpositionTable;
+    private final IterativeDeepening[] searchers;
+    private final long thinkingTimeMillis;
+    private long boardsEvaluated;
+    private long ponderStartTime;
+    private final SearchStats searchStats;
+
+    public LazySmp(final int numThreads, final long thinkingTimeMillis) {
+        this(numThreads, IterativeDeepening.MAX_SEARCH_DEPTH, thinkingTimeMillis, Long.MAX_VALUE,
+                TranspositionTable.DEFAULT_SIZE_IN_MEGABYTES);
+    }
+
+    // the node budget applies to each thread on its own
+    public LazySmp(final int numThreads,
+                   final int maxDepth,
+                   final long thinkingTimeMillis,
+                   final long maxNodes,
+                   final int transpositionTableSizeInMegaBytes) {
+        this(numThreads, maxDepth, thinkingTimeMillis, maxNodes, transpositionTableSizeInMegaBytes,
+                AlphaBeta.DEFAULT_NULL_MOVE_REDUCTION, AlphaBeta.DEFAULT_LATE_MOVE_REDUCTION, AlphaBeta.DEFAULT_LATE_MOVE_INDEX);
+    }
+
+    // the reductions go to every thread's AlphaBeta, see AlphaBeta.setNullMoveReduction() and setLateMoveReductions()
+    public LazySmp(final int numThreads,
+                   final int maxDepth,
+                   final long thinkingTimeMillis,
+                   final long maxNodes,
+                   final int transpositionTableSizeInMegaBytes,
+                   final int nullMoveReduction,
+                   final int lateMoveReduction,
+                   final int lateMoveIndex) {
+        if (numThreads < 1) {
+            throw new IllegalArgumentException("Lazy SMP needs at least one thread, got " + numThreads);
+        }
+
+        this.transpositionTable = new TranspositionTable(transpositionTableSizeInMegaBytes);
+        this.searchers = new IterativeDeepening[numThreads];
+        for (int i = 0; i < numThreads; i++) {
+            final AlphaBeta alphaBeta = new AlphaBeta(maxDepth, this.transpositionTable,
+                    nullMoveReduction, lateMoveReduction, lateMoveIndex);
+            // thread 0 always finishes depth 1
+            this.searchers[i] = new IterativeDeepening(alphaBeta, maxDepth, thinkingTimeMillis, maxNodes, 1 + i % 2);
+        }
+        this.thinkingTimeMillis = thinkingTimeMillis;
+        this.boardsEvaluated = 0;
+        this.searchStats = new SearchStats();
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        prepareSearch(this.searchers[0].stopTimeFrom(System.currentTimeMillis()));
+        return MoveUtils.decode(board, search(board));
+    }
+
+    @Override
+    public Move getExpectedReply(final Board board) {
+        return IterativeDeepening.expectedReply(this.transpositionTable, board);
+    }
+
+    @Override
+    public Future<Move> ponder(final Board board) {
+        prepareSearch(Long.MAX_VALUE);
+        this.ponderStartTime = System.currentTimeMillis();
+        return IterativeDeepening.startPonderThread(() -> MoveUtils.decode(board, search(board)));
+    }
+
+    // the helpers need no clock, the main thread stops them when it is done
+    @Override
+    public void ponderHit() {
+        this.searchers[0].setStopTime(this.searchers[0].stopTimeFrom(this.ponderStartTime));
+    }
+
+    @Override
+    public void stop() {
+        for (final IterativeDeepening searcher : this.searchers) {
+            searcher.stop();
+        }
+    }
+
+    // the shared table is aged once here, each searcher only drops the killers and ages the history of its own
+    private void prepareSearch(final long stopTime) {
+        this.transpositionTable.newSearch();
+        for (final IterativeDeepening searcher : this.searchers) {
+            searcher.newMoveOrdering();
+            searcher.setStopTime(stopTime);
+        }
+    }
+
+    private int search(final Board board) {
+        final ExecutorService helperPool = Executors.newFixedThreadPool(Math.max(1, this.searchers.length - 1));
+        final List<Future<Integer>> helperResults = new ArrayList<>();
+
+        // each thread needs its own mutable board
+        for (int i = 1; i < this.searchers.length; i++) {
+            final IterativeDeepening helper = this.searchers[i];
+            final SearchBoard helperBoard = new SearchBoard(board);
+            helperResults.add(helperPool.submit(() -> helper.search(helperBoard)));
+        }
+
+        this.searchStats.start();
+        int bestMove = this.searchers[0].search(new SearchBoard(board));
+        int bestDepth = this.searchers[0].getCompletedDepth();
+        this.boardsEvaluated = this.searchers[0].getNumBoardsEvaluated();
+        // the depth timings of a helper only replace the main thread's when it got deeper
+        this.searchStats.add(this.searchers[0].getSearchStats());
+
+        // the main thread decides when the search is over
+        for (int i = 1; i < this.searchers.length; i++) {
+            this.searchers[i].stop();
+        }
+
+        try {
+            for (int i = 1; i < this.searchers.length; i++) {
+                final int helperMove = helperResults.get(i - 1).get();
+                this.boardsEvaluated += this.searchers[i].getNumBoardsEvaluated();
+                this.searchStats.add(this.searchers[i].getSearchStats());
+                // a helper that got deeper than the main thread knows the better move
+                if (helperMove != MoveUtils.NO_MOVE && this.searchers[i].getCompletedDepth() > bestDepth) {
+                    bestMove = helperMove;
+                    bestDepth = this.searchers[i].getCompletedDepth();
+                }
+            }
+        } catch (final InterruptedException | ExecutionException e) {
+            throw new RuntimeException(e);
+        } finally {
+            helperPool.shutdown();
+        }
+
+        // every thread has returned, so neither a stop() from outside nor the main thread's own is still pending
+        for (final IterativeDeepening searcher : this.searchers) {
+            searcher.clearStop();
+        }
+        this.searchStats.finish();
+
+        return bestMove;
+    }
+
+    @Override
+    public String toString() {
+        return "LazySmp";
+    }
+
+    @Override
+    public long getNumBoardsEvaluated() {
+        return this.boardsEvaluated;
+    }
+
+    @Override
+    public SearchStats getSearchStats() {
+        return this.searchStats;
+    }
+}
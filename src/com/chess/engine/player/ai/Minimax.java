@@ -2,52 +2,64 @@ package com.chess.engine.player.ai;
 
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
-import com.chess.engine.player.MoveTransition;
+import com.chess.engine.board.MoveUtils;
+import com.chess.engine.board.SearchBoard;
 
 public class Minimax implements MoveStrategy {
+    // the stop request is read once per this many nodes
+    private static final int NODES_PER_STOP_CHECK = 1024;
+
     final BoardEvaluator boardEvaluator;
     private final int searchDepth;
-    private long boardsEvaluated;
+    private final SearchStats searchStats;
+    private final MoveBuffers moveBuffers;
+    private boolean isStopped;
+    private volatile boolean isStopRequested;
 
     public Minimax(int searchDepth) {
         this.boardEvaluator = new StandardBoardEvaluator();
-        this.boardsEvaluated = 0;
+        this.searchStats = new SearchStats();
+        this.moveBuffers = new MoveBuffers();
         this.searchDepth = searchDepth;
     }
 
     @Override
     public Move execute(Board board) {
-        final long startTime = System.currentTimeMillis();
-
-        Move bestMove = null;
+        int bestMove = MoveUtils.NO_MOVE;
         int highestSeenValue = Integer.MIN_VALUE;
-        int lowestSeenValue = Integer.MAX_VALUE;
         int currentValue;
 
-        System.out.println(board.currentPlayer() + "Thinking with depth = " + this.searchDepth);
-        int numMoves = board.currentPlayer().getLegalMoves().size();
-
-        for (final Move move : board.currentPlayer().getLegalMoves()) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-            if (moveTransition.getMoveStatus().isDone()) {
-                currentValue = board.currentPlayer().getAlliance().isWhite() // max = white player, min = black player
-                        ? min(moveTransition.getTransitionBoard(), this.searchDepth - 1)
-                        : max(moveTransition.getTransitionBoard(), this.searchDepth - 1);
-
-                if (board.currentPlayer().getAlliance().isWhite() && (currentValue >= highestSeenValue)) {
-                    highestSeenValue = currentValue;
-                    bestMove = move;
-                } else if (board.currentPlayer().getAlliance().isBlack() && (currentValue <= lowestSeenValue)) {
-                    lowestSeenValue = currentValue;
-                    bestMove = move;
-                }
+        this.searchStats.start();
+        this.isStopped = false;
+
+        // the tree below the root is searched on one mutable board with make/unmake
+        final SearchBoard searchBoard = new SearchBoard(board);
+
+        // the root moves come from the search board too, only the chosen one is turned back into a Move
+        for (final int move : searchBoard.calculateLegalMoves()) {
+            searchBoard.make(move);
+            currentValue = -negamax(searchBoard, this.searchDepth - 1);
+            searchBoard.unmake();
+
+            // the move cut short has no real value, the ones before it decide
+            if (this.isStopped && bestMove != MoveUtils.NO_MOVE) {
+                break;
+            }
+
+            if (currentValue >= highestSeenValue) {
+                highestSeenValue = currentValue;
+                bestMove = move;
             }
         }
 
-        final long executionTime = System.currentTimeMillis() - startTime;
-        System.out.println("Execution Time: " + executionTime);
+        if (!this.isStopped) {
+            this.searchStats.completeDepth(this.searchDepth);
+        }
+        this.searchStats.finish();
+        // kept until now, so a stop sent before the search started still ended it
+        this.isStopRequested = false;
 
-        return bestMove;
+        return MoveUtils.decode(board, bestMove);
     }
 
     @Override
@@ -57,51 +69,55 @@ public class Minimax implements MoveStrategy {
 
     @Override
     public long getNumBoardsEvaluated() {
-        return this.boardsEvaluated;
+        return this.searchStats.getNodes();
+    }
+
+    @Override
+    public SearchStats getSearchStats() {
+        return this.searchStats;
     }
 
-    // cut down depth tree
-    boolean isEndGameScenario(final Board board) {
-        return board.currentPlayer().isInCheckMate()
-                || board.currentPlayer().isInStaleMate();
+    @Override
+    public void stop() {
+        this.isStopRequested = true;
     }
 
-    public int min(final Board board, final int depth) {
-        if (depth == 0 || isEndGameScenario(board)) {
-            return this.boardEvaluator.evaluate(board, depth);
+    private boolean isStopped() {
+        this.searchStats.countNode();
+        if (this.searchStats.getNodes() % NODES_PER_STOP_CHECK == 0 && this.isStopRequested) {
+            this.isStopped = true;
         }
+        return this.isStopped;
+    }
 
-        int lowestSeenValue = Integer.MAX_VALUE;
-
-        for (final Move move : board.currentPlayer().getLegalMoves()) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
-
-            if (moveTransition.getMoveStatus().isDone()) {
-                final int currentValue = max(moveTransition.getTransitionBoard(), depth - 1);
-                if (currentValue <= lowestSeenValue) {
-                    lowestSeenValue = currentValue; // return lowest value of all legalMoves
-                }
-            }
+    // the value of the position for the side to move: the best of its moves, each scored as the negated value for
+    // the opponent, so white and black share one method
+    public int negamax(final SearchBoard board, final int depth) {
+        if (isStopped()) {
+            return 0;
         }
 
-        return lowestSeenValue;
-    }
+        if (depth == 0) {
+            return this.boardEvaluator.evaluateForMoveMaker(board, depth);
+        }
 
-    public int max(final Board board, final int depth) {
-        if (depth == 0 || isEndGameScenario(board)) {
-            return this.boardEvaluator.evaluate(board, depth);
+        final int[] legalMoves = this.moveBuffers.forPly(board.getPly());
+        final int legalMoveCount = board.calculateLegalMoves(legalMoves);
+        // no legal moves is checkmate or stalemate, the evaluator tells them apart
+        if (legalMoveCount == 0) {
+            return this.boardEvaluator.evaluateForMoveMaker(board, depth);
         }
 
         int highestSeenValue = Integer.MIN_VALUE;
 
-        for (final Move move : board.currentPlayer().getLegalMoves()) {
-            final MoveTransition moveTransition = board.currentPlayer().makeMove(move);
+        for (int i = 0; i < legalMoveCount; i++) {
+            final int move = legalMoves[i];
+            board.make(move);
+            final int currentValue = -negamax(board, depth - 1);
+            board.unmake();
 
-            if (moveTransition.getMoveStatus().isDone()) {
-                final int currentValue = min(moveTransition.getTransitionBoard(), depth - 1);
-                if (currentValue >= highestSeenValue) {
-                    highestSeenValue = currentValue; // return highest value of all legalMoves
-                }
+            if (currentValue >= highestSeenValue) {
+                highestSeenValue = currentValue; // return highest value of all legalMoves
             }
         }
 
@@ -0,0 +1,21 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.SearchBoard;
+
+// One move list per ply for SearchBoard.calculateLegalMoves(int[]), so generating the moves of a node allocates
+// nothing. A ply's list is allocated the first time the search reaches it and reused from then on; a node's moves stay
+// intact while its children fill the lists of the plies below. One set belongs to one search thread.
+final class MoveBuffers {
+    private final int[][] buffers;
+
+    MoveBuffers() {
+        this.buffers = new int[SearchBoard.MAX_PLY][];
+    }
+
+    int[] forPly(final int ply) {
+        if (this.buffers[ply] == null) {
+            this.buffers[ply] = new int[SearchBoard.MAX_MOVES];
+        }
+        return this.buffers[ply];
+    }
+}
@@ -0,0 +1,150 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.BitBoardUtils;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.MoveUtils;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.pieces.Piece.PieceType;
+
+import java.util.Arrays;
+
+// Puts the moves most likely to cause a cutoff first, so alpha-beta prunes early:
+//  1. the hash move, the best move the transposition table or the previous iteration found here
+//  2. captures and promotions, most valuable victim first and least valuable attacker first among equal victims
+//  3. the killer moves, quiet moves that caused a cutoff at the same ply in a sibling subtree
+//  4. the other quiet moves, by how often the same piece to the same tile caused a cutoff (history heuristic)
+// One orderer belongs to one search thread.
+final class MoveOrderer {
+    private static final int HASH_MOVE_SCORE = Integer.MAX_VALUE;
+    private static final int CAPTURE_SCORE = 1 << 28;
+    private static final int KILLER_SCORE = 1 << 27;
+    private static final int MAX_HISTORY_SCORE = KILLER_SCORE - 1;
+    static final int NUM_KILLERS = 2;
+    private static final int[] PIECE_VALUES = calculatePieceValues();
+
+    private final int[][] killerMoves;
+    private final int[][] historyScores;
+    // filled and used within one orderMoves() call, so all plies share it
+    private final int[] moveScores;
+
+    MoveOrderer() {
+        this.killerMoves = new int[SearchBoard.MAX_PLY][NUM_KILLERS];
+        this.historyScores = new int[BitBoardUtils.NUM_PIECE_BITBOARDS][BoardUtils.NUM_TILES];
+        this.moveScores = new int[SearchBoard.MAX_MOVES];
+    }
+
+    private static int[] calculatePieceValues() {
+        final int[] values = new int[BitBoardUtils.NUM_PIECE_BITBOARDS];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = PieceType.values()[i % BitBoardUtils.NUM_PIECE_TYPES].getPieceValue();
+        }
+        return values;
+    }
+
+    // killers belong to the plies of the last search; history is halved so recent cutoffs count more
+    void newSearch() {
+        for (final int[] killers : this.killerMoves) {
+            killers[0] = MoveUtils.NO_MOVE;
+            killers[1] = MoveUtils.NO_MOVE;
+        }
+        halveHistory();
+    }
+
+    void clear() {
+        for (final int[] killers : this.killerMoves) {
+            killers[0] = MoveUtils.NO_MOVE;
+            killers[1] = MoveUtils.NO_MOVE;
+        }
+        for (final int[] scores : this.historyScores) {
+            Arrays.fill(scores, 0);
+        }
+    }
+
+    // orders the first count moves of the list
+    void orderMoves(final int[] moves, final int count, final int hashMove, final int ply) {
+        orderMoves(moves, 0, count, hashMove, ply);
+    }
+
+    // orders the moves from start up to end, one stage of a MovePicker
+    void orderMoves(final int[] moves, final int start, final int end, final int hashMove, final int ply) {
+        for (int i = start; i < end; i++) {
+            this.moveScores[i] = scoreMove(moves[i], hashMove, ply);
+        }
+
+        // insertion sort, the lists are short and often close to sorted already
+        for (int i = start + 1; i < end; i++) {
+            final int move = moves[i];
+            final int score = this.moveScores[i];
+            int j = i - 1;
+            while (j >= start && this.moveScores[j] < score) {
+                moves[j + 1] = moves[j];
+                this.moveScores[j + 1] = this.moveScores[j];
+                j--;
+            }
+            moves[j + 1] = move;
+            this.moveScores[j + 1] = score;
+        }
+    }
+
+    private int scoreMove(final int move, final int hashMove, final int ply) {
+        if (move == hashMove) {
+            return HASH_MOVE_SCORE;
+        }
+
+        if (isTactical(move)) {
+            final int victimValue = MoveUtils.isCapture(move) ? PIECE_VALUES[MoveUtils.capturedPiece(move)] : 0;
+            final int promotionValue = MoveUtils.isPromotion(move) ? PIECE_VALUES[MoveUtils.promotionPiece(move)] : 0;
+            return CAPTURE_SCORE + 16 * (victimValue + promotionValue)
+                    - PIECE_VALUES[MoveUtils.movedPiece(move)] / 100;
+        }
+
+        if (move == this.killerMoves[ply][0] || move == this.killerMoves[ply][1]) {
+            return KILLER_SCORE;
+        }
+
+        return this.historyScores[MoveUtils.movedPiece(move)][MoveUtils.to(move)];
+    }
+
+    int getKillerMove(final int ply, final int index) {
+        return this.killerMoves[ply][index];
+    }
+
+    // a quiet move that caused a cutoff becomes a killer at its ply and gains history, more so the deeper it was
+    void recordCutoff(final int move, final int ply, final int depth) {
+        if (isTactical(move)) {
+            return;
+        }
+
+        if (this.killerMoves[ply][0] != move) {
+            this.killerMoves[ply][1] = this.killerMoves[ply][0];
+            this.killerMoves[ply][0] = move;
+        }
+
+        final int[] pieceHistory = this.historyScores[MoveUtils.movedPiece(move)];
+        pieceHistory[MoveUtils.to(move)] += depth * depth;
+        if (pieceHistory[MoveUtils.to(move)] > MAX_HISTORY_SCORE) {
+            halveHistory();
+        }
+    }
+
+    private void halveHistory() {
+        for (final int[] scores : this.historyScores) {
+            for (int i = 0; i < scores.length; i++) {
+                scores[i] /= 2;
+            }
+        }
+    }
+
+    // material the move wins at most: the captured piece plus what a promotion adds over the pawn
+    static int materialGain(final int move) {
+        int gain = MoveUtils.isCapture(move) ? PIECE_VALUES[MoveUtils.capturedPiece(move)] : 0;
+        if (MoveUtils.isPromotion(move)) {
+            gain += PIECE_VALUES[MoveUtils.promotionPiece(move)] - PIECE_VALUES[MoveUtils.movedPiece(move)];
+        }
+        return gain;
+    }
+
+    static boolean isTactical(final int move) {
+        return MoveUtils.isCapture(move) || MoveUtils.isPromotion(move);
+    }
+}
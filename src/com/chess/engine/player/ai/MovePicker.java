@@ -0,0 +1,118 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.MoveUtils;
+import com.chess.engine.board.SearchBoard;
+
+// Hands out the moves of one node stage by stage, in the order of MoveOrderer, and generates a stage only once the
+// stages before it are used up, so a node cut off early never generates or sorts the moves it did not need:
+//  1. the hash move, tested on its own before anything is generated
+//  2. captures and promotions, most valuable victim first
+//  3. the killer moves of the ply that are legal here
+//  4. the other quiet moves, by history
+// A picker for quiescence stops after the captures. One picker belongs to one ply of one search thread.
+final class MovePicker {
+    private static final int HASH_MOVE = 0;
+    private static final int GENERATE_TACTICAL_MOVES = 1;
+    private static final int TACTICAL_MOVES = 2;
+    private static final int KILLER_MOVES = 3;
+    private static final int GENERATE_QUIET_MOVES = 4;
+    private static final int QUIET_MOVES = 5;
+    private static final int DONE = 6;
+
+    private final MoveOrderer moveOrderer;
+    // copied when the node starts, the plies below record their own killers
+    private final int[] killerMoves;
+    private SearchBoard board;
+    private int[] moves;
+    private int hashMove;
+    private int ply;
+    private boolean isTacticalOnly;
+    private int stage;
+    private int index;
+    private int end;
+
+    MovePicker(final MoveOrderer moveOrderer) {
+        this.moveOrderer = moveOrderer;
+        this.killerMoves = new int[MoveOrderer.NUM_KILLERS];
+    }
+
+    // starts the picker on a new node, moves is the list of its ply from MoveBuffers
+    void reset(final SearchBoard board,
+               final int[] moves,
+               final int hashMove,
+               final int ply,
+               final boolean isTacticalOnly) {
+        this.board = board;
+        this.moves = moves;
+        this.hashMove = hashMove;
+        this.ply = ply;
+        this.isTacticalOnly = isTacticalOnly;
+        this.stage = hashMove == MoveUtils.NO_MOVE ? GENERATE_TACTICAL_MOVES : HASH_MOVE;
+        this.index = 0;
+        this.end = 0;
+        for (int i = 0; i < this.killerMoves.length; i++) {
+            this.killerMoves[i] = this.moveOrderer.getKillerMove(ply, i);
+        }
+    }
+
+    // the next legal move of the node, MoveUtils.NO_MOVE once all are handed out
+    int nextMove() {
+        while (true) {
+            switch (this.stage) {
+                case HASH_MOVE -> {
+                    this.stage = GENERATE_TACTICAL_MOVES;
+                    // the hash move may come from another position with the same table slot
+                    if ((!this.isTacticalOnly || MoveOrderer.isTactical(this.hashMove))
+                            && this.board.isLegalMove(this.hashMove)) {
+                        return this.hashMove;
+                    }
+                }
+                case GENERATE_TACTICAL_MOVES -> {
+                    this.index = 0;
+                    this.end = this.board.calculateLegalTacticalMoves(this.moves, 0);
+                    this.moveOrderer.orderMoves(this.moves, 0, this.end, MoveUtils.NO_MOVE, this.ply);
+                    this.stage = TACTICAL_MOVES;
+                }
+                case TACTICAL_MOVES -> {
+                    while (this.index < this.end) {
+                        final int move = this.moves[this.index++];
+                        if (move != this.hashMove) {
+                            return move;
+                        }
+                    }
+                    this.stage = this.isTacticalOnly ? DONE : KILLER_MOVES;
+                    this.index = 0;
+                }
+                case KILLER_MOVES -> {
+                    while (this.index < this.killerMoves.length) {
+                        final int killerMove = this.killerMoves[this.index++];
+                        if (killerMove != MoveUtils.NO_MOVE && killerMove != this.hashMove
+                                && this.board.isLegalMove(killerMove)) {
+                            return killerMove;
+                        }
+                    }
+                    this.stage = GENERATE_QUIET_MOVES;
+                }
+                case GENERATE_QUIET_MOVES -> {
+                    // the quiet moves go after the captures, which are handed out already
+                    this.index = this.end;
+                    this.end = this.board.calculateLegalQuietMoves(this.moves, this.index);
+                    this.moveOrderer.orderMoves(this.moves, this.index, this.end, MoveUtils.NO_MOVE, this.ply);
+                    this.stage = QUIET_MOVES;
+                }
+                case QUIET_MOVES -> {
+                    while (this.index < this.end) {
+                        final int move = this.moves[this.index++];
+                        if (move != this.hashMove && move != this.killerMoves[0] && move != this.killerMoves[1]) {
+                            return move;
+                        }
+                    }
+                    this.stage = DONE;
+                }
+                default -> {
+                    return MoveUtils.NO_MOVE;
+                }
+            }
+        }
+    }
+}
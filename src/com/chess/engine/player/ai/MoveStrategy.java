@@ -6,4 +6,12 @@ import com.chess.engine.board.Move;
 public interface MoveStrategy {
     long getNumBoardsEvaluated();
     Move execute(Board board);
+
+    // what the last execute() did, read once it has returned
+    SearchStats getSearchStats();
+
+    // ends a running execute() from another thread within a few thousand nodes; execute() then returns the best
+    // move it has found so far. A stop sent before execute() starts is kept and ends it as soon as it has a move,
+    // execute() forgets the stop when it returns.
+    void stop();
 }
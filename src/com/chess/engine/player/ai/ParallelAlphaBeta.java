@@ -0,0 +1,236 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveUtils;
+import com.chess.engine.board.SearchBoard;
+
+import java.lang.ref.Cleaner;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+
+// Fixed-depth alpha-beta with the root moves split over a ForkJoinPool. The first root move is searched alone to
+// get a real bound, then the rest run as parallel tasks on their own boards. The best score so far is shared, so
+// every task that starts later searches with the tightest window the finished ones allow. All tasks share one
+// transposition table, and each pool thread keeps one AlphaBeta, so its killers and history carry from task to task;
+// a thread the pool retires after a pause takes its search with it.
+// close() shuts the pool down; a strategy that is dropped without it has its pool shut down once it is collected.
+public class ParallelAlphaBeta implements MoveStrategy, AutoCloseable {
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final int searchDepth;
+    private final ForkJoinPool pool;
+    private final Cleaner.Cleanable poolShutdown;
+    private final TranspositionTable transpositionTable;
+    private final SearchStats searchStats;
+    // best root move and its score, from the side to move like every score in the search
+    private int bestMove;
+    private volatile int bestValue;
+    // builds the search of a thread, all of them on the shared table with the same reductions
+    private final Supplier<AlphaBeta> searchFactory;
+    // the searches of the live pool threads, see SearchThread
+    private final Set<AlphaBeta> searches;
+    // the searches of the tasks running now, so stop() can reach them
+    private final Set<AlphaBeta> runningSearches;
+    private volatile boolean isStopRequested;
+
+    public ParallelAlphaBeta(final int searchDepth) {
+        this(searchDepth, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelAlphaBeta(final int searchDepth, final int parallelism) {
+        this(searchDepth, parallelism, TranspositionTable.DEFAULT_SIZE_IN_MEGABYTES);
+    }
+
+    public ParallelAlphaBeta(final int searchDepth, final int parallelism, final int transpositionTableSizeInMegaBytes) {
+        this(searchDepth, parallelism, transpositionTableSizeInMegaBytes, AlphaBeta.DEFAULT_NULL_MOVE_REDUCTION,
+                AlphaBeta.DEFAULT_LATE_MOVE_REDUCTION, AlphaBeta.DEFAULT_LATE_MOVE_INDEX);
+    }
+
+    // the reductions go to every thread's AlphaBeta, see AlphaBeta.setNullMoveReduction() and setLateMoveReductions()
+    public ParallelAlphaBeta(final int searchDepth,
+                             final int parallelism,
+                             final int transpositionTableSizeInMegaBytes,
+                             final int nullMoveReduction,
+                             final int lateMoveReduction,
+                             final int lateMoveIndex) {
+        this.searchDepth = searchDepth;
+        this.transpositionTable = new TranspositionTable(transpositionTableSizeInMegaBytes);
+        this.searches = ConcurrentHashMap.newKeySet();
+        // neither the threads nor the cleaning action may hold the strategy, or it would never become unreachable
+        final TranspositionTable transpositionTable = this.transpositionTable;
+        final Set<AlphaBeta> searches = this.searches;
+        final Supplier<AlphaBeta> searchFactory = () -> new AlphaBeta(searchDepth, transpositionTable,
+                nullMoveReduction, lateMoveReduction, lateMoveIndex);
+        this.searchFactory = searchFactory;
+        this.pool = new ForkJoinPool(parallelism,
+                pool -> new SearchThread(pool, searchFactory.get(), searches),
+                null, false);
+        final ForkJoinPool pool = this.pool;
+        this.poolShutdown = CLEANER.register(this, pool::shutdown);
+        this.runningSearches = ConcurrentHashMap.newKeySet();
+        this.searchStats = new SearchStats();
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        this.transpositionTable.newSearch();
+        for (final AlphaBeta alphaBeta : this.searches) {
+            alphaBeta.newMoveOrdering();
+        }
+        final SearchBoard rootBoard = new SearchBoard(board);
+        final long rootEntry = this.transpositionTable.probe(rootBoard.getZobristKey());
+        final int[] rootMoves = AlphaBeta.moveToFront(rootBoard.calculateLegalMoves(), TranspositionTable.move(rootEntry));
+
+        this.bestMove = MoveUtils.NO_MOVE;
+        this.bestValue = -AlphaBeta.INFINITY;
+        this.searchStats.start();
+
+        if (rootMoves.length > 0) {
+            final RootMoveTask firstTask = new RootMoveTask(board, rootMoves[0]);
+            this.pool.invoke(firstTask);
+
+            final List<RootMoveTask> tasks = new ArrayList<>();
+            for (int i = 1; i < rootMoves.length; i++) {
+                tasks.add(new RootMoveTask(board, rootMoves[i]));
+            }
+            this.pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    ForkJoinTask.invokeAll(tasks);
+                }
+            });
+        }
+
+        // stopped before any root move finished, the hash move is the best guess
+        if (this.bestMove == MoveUtils.NO_MOVE && rootMoves.length > 0) {
+            this.bestMove = rootMoves[0];
+        }
+
+        final int rootValue = this.bestValue;
+        if (this.bestMove != MoveUtils.NO_MOVE && !this.isStopRequested) {
+            this.transpositionTable.store(rootBoard.getZobristKey(), this.searchDepth, rootValue,
+                    TranspositionTable.EXACT, this.bestMove);
+            this.searchStats.completeDepth(this.searchDepth);
+        }
+
+        this.searchStats.finish();
+        // kept until now, so a stop sent before the search started still ended it
+        this.isStopRequested = false;
+
+        return MoveUtils.decode(board, this.bestMove);
+    }
+
+    // a tie keeps the move that got there first, as the sequential root does with the first move searched
+    private synchronized void offer(final int move, final int value) {
+        if (this.bestMove == MoveUtils.NO_MOVE || value > this.bestValue) {
+            this.bestMove = move;
+            this.bestValue = value;
+        }
+    }
+
+    private synchronized void addSearchStats(final SearchStats taskStats) {
+        this.searchStats.add(taskStats);
+    }
+
+    private final class RootMoveTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Board board;
+        private final int move;
+
+        private RootMoveTask(final Board board, final int move) {
+            this.board = board;
+            this.move = move;
+        }
+
+        @Override
+        protected void compute() {
+            // the calling thread may run a task itself while it waits, that task gets a search of its own
+            final AlphaBeta alphaBeta = Thread.currentThread() instanceof SearchThread searchThread
+                    ? searchThread.alphaBeta
+                    : searchFactory.get();
+            alphaBeta.setLimits(Long.MAX_VALUE, Long.MAX_VALUE);
+            alphaBeta.getSearchStats().start();
+            // a stop() that reached this search during an earlier task is over, the strategy's flag is the one kept
+            alphaBeta.clearStop();
+            // registered before the flag is read, so a stop() in between still reaches this search
+            runningSearches.add(alphaBeta);
+            if (isStopRequested) {
+                runningSearches.remove(alphaBeta);
+                return;
+            }
+
+            final SearchBoard searchBoard = new SearchBoard(this.board);
+            searchBoard.make(this.move);
+
+            // the window is read when the task starts, so it already holds what the finished tasks found
+            final int bound = bestValue;
+            final int value = -alphaBeta.search(searchBoard, searchDepth - 1, -AlphaBeta.INFINITY, -bound);
+
+            runningSearches.remove(alphaBeta);
+
+            // a fail-hard search returns the bound itself when the move is no better; a stopped one returns nothing
+            if (!alphaBeta.isStopped()) {
+                offer(this.move, value);
+            }
+            addSearchStats(alphaBeta.getSearchStats());
+        }
+    }
+
+    // A pool thread with its own search, listed in searches while the thread lives. The pool retires threads that
+    // stay idle, so the list follows the threads the pool has now instead of every thread it ever started.
+    private static final class SearchThread extends ForkJoinWorkerThread {
+        private final AlphaBeta alphaBeta;
+        private final Set<AlphaBeta> searches;
+
+        private SearchThread(final ForkJoinPool pool, final AlphaBeta alphaBeta, final Set<AlphaBeta> searches) {
+            super(pool);
+            this.alphaBeta = alphaBeta;
+            this.searches = searches;
+            searches.add(alphaBeta);
+        }
+
+        @Override
+        protected void onTermination(final Throwable exception) {
+            this.searches.remove(this.alphaBeta);
+            super.onTermination(exception);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ParallelAlphaBeta";
+    }
+
+    @Override
+    public long getNumBoardsEvaluated() {
+        return this.searchStats.getNodes();
+    }
+
+    @Override
+    public SearchStats getSearchStats() {
+        return this.searchStats;
+    }
+
+    @Override
+    public void stop() {
+        this.isStopRequested = true;
+        for (final AlphaBeta alphaBeta : this.runningSearches) {
+            alphaBeta.stop();
+        }
+    }
+
+    // the strategy cannot search once it is closed
+    @Override
+    public void close() {
+        this.poolShutdown.clean();
+    }
+}
@@ -0,0 +1,21 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+
+import java.util.concurrent.Future;
+
+// A strategy that can think on the opponent's time. After its own move it guesses the reply and ponders the position
+// after it until the opponent moves:
+//  ponder hit   the guess was played, ponderHit() turns the pondering into the real search, the time already
+//               spent counts towards the thinking time, so the move often comes at once
+//  ponder miss  stop() drops the result, but the transposition table keeps the work for the real search
+public interface PonderingMoveStrategy extends MoveStrategy {
+    // the reply the last search expects on the board after its move, MoveFactory.getNullMove() when it has none
+    Move getExpectedReply(Board board);
+
+    // starts searching the board on a background thread without a time limit and returns at once
+    Future<Move> ponder(Board board);
+
+    void ponderHit();
+}
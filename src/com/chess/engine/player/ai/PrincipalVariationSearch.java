@@ -0,0 +1,134 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveUtils;
+import com.chess.engine.board.SearchBoard;
+
+// Principal variation search (NegaScout): the AlphaBeta core with every move after the first of a node only tested
+// against a null window, see AlphaBeta.searchChild(). It shares the rest of the search with AlphaBeta, the null
+// move, the late move reductions, the staged move generation and quiescence.
+// The driver deepens one ply at a time and starts each depth with an aspiration window around the previous score,
+// widening it when the score falls outside.
+public class PrincipalVariationSearch implements MoveStrategy {
+    private static final int ASPIRATION_WINDOW = 50;
+
+    private final AlphaBeta alphaBeta;
+    private final int searchDepth;
+    private final long thinkingTimeMillis;
+
+    public PrincipalVariationSearch(final int searchDepth) {
+        this(searchDepth, Long.MAX_VALUE);
+    }
+
+    public PrincipalVariationSearch(final int searchDepth, final long thinkingTimeMillis) {
+        this(searchDepth, thinkingTimeMillis, TranspositionTable.DEFAULT_SIZE_IN_MEGABYTES);
+    }
+
+    public PrincipalVariationSearch(final int searchDepth,
+                                    final long thinkingTimeMillis,
+                                    final int transpositionTableSizeInMegaBytes) {
+        this(searchDepth, thinkingTimeMillis, transpositionTableSizeInMegaBytes, AlphaBeta.DEFAULT_NULL_MOVE_REDUCTION,
+                AlphaBeta.DEFAULT_LATE_MOVE_REDUCTION, AlphaBeta.DEFAULT_LATE_MOVE_INDEX);
+    }
+
+    // the reductions go to the AlphaBeta, see AlphaBeta.setNullMoveReduction() and setLateMoveReductions()
+    public PrincipalVariationSearch(final int searchDepth,
+                                    final long thinkingTimeMillis,
+                                    final int transpositionTableSizeInMegaBytes,
+                                    final int nullMoveReduction,
+                                    final int lateMoveReduction,
+                                    final int lateMoveIndex) {
+        this.searchDepth = Math.max(1, searchDepth);
+        this.thinkingTimeMillis = thinkingTimeMillis;
+        this.alphaBeta = new AlphaBeta(this.searchDepth, transpositionTableSizeInMegaBytes,
+                nullMoveReduction, lateMoveReduction, lateMoveIndex);
+        this.alphaBeta.setPrincipalVariationSearch(true);
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        final SearchStats searchStats = this.alphaBeta.getSearchStats();
+        searchStats.start();
+        final long startTime = System.currentTimeMillis();
+        final SearchBoard searchBoard = new SearchBoard(board);
+        int bestMove = MoveUtils.NO_MOVE;
+        int previousValue = 0;
+        // depth 1 runs without a clock, so there is always a move to play
+        long stopTime = Long.MAX_VALUE;
+
+        this.alphaBeta.newSearch();
+        this.alphaBeta.setLimits(stopTime, Long.MAX_VALUE);
+
+        for (int depth = 1; depth <= this.searchDepth; depth++) {
+            int delta = ASPIRATION_WINDOW;
+            int alpha = depth == 1 ? -AlphaBeta.INFINITY : Math.max(previousValue - delta, -AlphaBeta.INFINITY);
+            int beta = depth == 1 ? AlphaBeta.INFINITY : Math.min(previousValue + delta, AlphaBeta.INFINITY);
+            int iterationBestMove = bestMove;
+
+            while (true) {
+                final int searchedMove = this.alphaBeta.searchRoot(searchBoard, depth, alpha, beta, iterationBestMove);
+                if (searchedMove == MoveUtils.NO_MOVE) {
+                    break;
+                }
+                iterationBestMove = searchedMove;
+                final int value = this.alphaBeta.getRootValue();
+
+                // outside the window the score is only a bound, search again with the failed side opened up
+                if (value <= alpha && alpha > -AlphaBeta.INFINITY) {
+                    delta *= 4;
+                    alpha = Math.max(previousValue - delta, -AlphaBeta.INFINITY);
+                    iterationBestMove = bestMove;
+                } else if (value >= beta && beta < AlphaBeta.INFINITY) {
+                    delta *= 4;
+                    beta = Math.min(previousValue + delta, AlphaBeta.INFINITY);
+                } else {
+                    previousValue = value;
+                    break;
+                }
+            }
+
+            if (this.alphaBeta.isStopped()) {
+                break;
+            }
+
+            bestMove = iterationBestMove;
+            searchStats.completeDepth(depth);
+
+            if (depth == 1 && this.thinkingTimeMillis != Long.MAX_VALUE) {
+                stopTime = startTime + this.thinkingTimeMillis;
+                this.alphaBeta.setStopTime(stopTime);
+            }
+        }
+
+        // stopped inside depth 1, the root moves it finished are all there is
+        if (bestMove == MoveUtils.NO_MOVE) {
+            bestMove = this.alphaBeta.getRootBestMove();
+        }
+
+        searchStats.finish();
+        this.alphaBeta.clearStop();
+
+        return MoveUtils.decode(board, bestMove);
+    }
+
+    @Override
+    public String toString() {
+        return "PrincipalVariationSearch";
+    }
+
+    @Override
+    public long getNumBoardsEvaluated() {
+        return this.alphaBeta.getSearchStats().getNodes();
+    }
+
+    @Override
+    public SearchStats getSearchStats() {
+        return this.alphaBeta.getSearchStats();
+    }
+
+    @Override
+    public void stop() {
+        this.alphaBeta.stop();
+    }
+}
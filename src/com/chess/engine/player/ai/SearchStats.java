@@ -0,0 +1,171 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.SearchBoard;
+
+// What one search did, filled in while it runs and read once it is done. Nodes count every position the search
+// entered, the quiescence nodes among them. The per-depth figures are cumulative at the moment each depth finished,
+// so the nodes of one iteration are the difference between two depths.
+public final class SearchStats {
+    private long nodes;
+    private long quiescenceNodes;
+    private long betaCutoffs;
+    private long firstMoveCutoffs;
+    private long transpositionTableProbes;
+    private long transpositionTableHits;
+    private long transpositionTableStores;
+    private long startTime;
+    private long elapsedMillis;
+    private int completedDepth;
+    private final long[] depthNodes;
+    private final long[] depthMillis;
+
+    SearchStats() {
+        this.depthNodes = new long[SearchBoard.MAX_PLY];
+        this.depthMillis = new long[SearchBoard.MAX_PLY];
+    }
+
+    void start() {
+        this.nodes = 0;
+        this.quiescenceNodes = 0;
+        this.betaCutoffs = 0;
+        this.firstMoveCutoffs = 0;
+        this.transpositionTableProbes = 0;
+        this.transpositionTableHits = 0;
+        this.transpositionTableStores = 0;
+        this.elapsedMillis = 0;
+        this.completedDepth = 0;
+        this.startTime = System.currentTimeMillis();
+    }
+
+    void finish() {
+        this.elapsedMillis = System.currentTimeMillis() - this.startTime;
+    }
+
+    void countNode() {
+        this.nodes++;
+    }
+
+    void countQuiescenceNode() {
+        this.quiescenceNodes++;
+    }
+
+    void countCutoff(final int moveIndex) {
+        this.betaCutoffs++;
+        if (moveIndex == 0) {
+            this.firstMoveCutoffs++;
+        }
+    }
+
+    void countProbe(final long entry) {
+        this.transpositionTableProbes++;
+        if (entry != TranspositionTable.NO_ENTRY) {
+            this.transpositionTableHits++;
+        }
+    }
+
+    void countStore() {
+        this.transpositionTableStores++;
+    }
+
+    void completeDepth(final int depth) {
+        if (depth > 0 && depth < this.depthNodes.length) {
+            this.completedDepth = depth;
+            this.depthNodes[depth] = this.nodes;
+            this.depthMillis[depth] = System.currentTimeMillis() - this.startTime;
+        }
+    }
+
+    // sums the counters of another thread's search into this one; the depths come from the one that got deepest
+    void add(final SearchStats other) {
+        this.nodes += other.nodes;
+        this.quiescenceNodes += other.quiescenceNodes;
+        this.betaCutoffs += other.betaCutoffs;
+        this.firstMoveCutoffs += other.firstMoveCutoffs;
+        this.transpositionTableProbes += other.transpositionTableProbes;
+        this.transpositionTableHits += other.transpositionTableHits;
+        this.transpositionTableStores += other.transpositionTableStores;
+        if (other.completedDepth > this.completedDepth) {
+            this.completedDepth = other.completedDepth;
+            System.arraycopy(other.depthNodes, 0, this.depthNodes, 0, other.completedDepth + 1);
+            System.arraycopy(other.depthMillis, 0, this.depthMillis, 0, other.completedDepth + 1);
+        }
+    }
+
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    public long getQuiescenceNodes() {
+        return this.quiescenceNodes;
+    }
+
+    public long getElapsedMillis() {
+        return this.elapsedMillis;
+    }
+
+    public long getNodesPerSecond() {
+        return this.elapsedMillis == 0 ? this.nodes * 1000 : this.nodes * 1000 / this.elapsedMillis;
+    }
+
+    public int getCompletedDepth() {
+        return this.completedDepth;
+    }
+
+    // nodes of the iteration that finished the depth, 0 for a depth that did not finish
+    public long getDepthNodes(final int depth) {
+        return depth > this.completedDepth || depth < 1 ? 0 : this.depthNodes[depth] - this.depthNodes[depth - 1];
+    }
+
+    // time from the start of the search until the depth finished
+    public long getDepthMillis(final int depth) {
+        return depth > this.completedDepth || depth < 1 ? 0 : this.depthMillis[depth];
+    }
+
+    // How much one more ply multiplied the work: the last iteration over the one before it, or for a search of one
+    // depth only the root of its node count.
+    public double getEffectiveBranchingFactor() {
+        if (this.completedDepth == 0) {
+            return 0;
+        }
+
+        final long lastIterationNodes = getDepthNodes(this.completedDepth);
+        final long previousIterationNodes = getDepthNodes(this.completedDepth - 1);
+        return previousIterationNodes > 0
+                ? (double) lastIterationNodes / previousIterationNodes
+                : Math.pow(lastIterationNodes, 1.0 / this.completedDepth);
+    }
+
+    // with good move ordering nearly every cutoff comes from the first move searched
+    public double getFirstMoveCutoffRatio() {
+        return this.betaCutoffs == 0 ? 0 : (double) this.firstMoveCutoffs / this.betaCutoffs;
+    }
+
+    public long getBetaCutoffs() {
+        return this.betaCutoffs;
+    }
+
+    public long getTranspositionTableProbes() {
+        return this.transpositionTableProbes;
+    }
+
+    public long getTranspositionTableHits() {
+        return this.transpositionTableHits;
+    }
+
+    public long getTranspositionTableStores() {
+        return this.transpositionTableStores;
+    }
+
+    public double getTranspositionTableHitRate() {
+        return this.transpositionTableProbes == 0 ? 0 : (double) this.transpositionTableHits / this.transpositionTableProbes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("depth %d, %d nodes (%d quiescence) in %d ms, %d nps, ebf %.2f, first move cutoffs %.1f%%,"
+                        + " tt hits %.1f%% of %d probes, %d stores",
+                this.completedDepth, this.nodes, this.quiescenceNodes, this.elapsedMillis, getNodesPerSecond(),
+                getEffectiveBranchingFactor(), 100 * getFirstMoveCutoffRatio(),
+                100 * getTranspositionTableHitRate(), this.transpositionTableProbes, this.transpositionTableStores);
+    }
+}
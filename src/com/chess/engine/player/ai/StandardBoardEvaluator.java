@@ -1,7 +1,11 @@
 package com.chess.engine.player.ai;
 
+import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoardUtils;
 import com.chess.engine.board.Board;
+import com.chess.engine.board.SearchBoard;
 import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
 import com.chess.engine.player.Player;
 
 public final class StandardBoardEvaluator implements BoardEvaluator {
@@ -16,8 +20,15 @@ public final class StandardBoardEvaluator implements BoardEvaluator {
         // get the score from white and subtract it from the score from black
         // if white has an advantage score that get back will be a positive number(+)
         // if black has an advantage score that get back will be a negative number(-)
-        return scorePlayer(board, board.whitePlayer(), depth
-                - scorePlayer(board, board.blackPlayer(), depth));
+        return scorePlayer(board, board.whitePlayer(), depth)
+                - scorePlayer(board, board.blackPlayer(), depth);
+    }
+
+    // same terms as above, read from the mutable board the search works on
+    @Override
+    public int evaluate(final SearchBoard board, final int depth) {
+        return scoreAlliance(board, Alliance.WHITE, depth)
+                - scoreAlliance(board, Alliance.BLACK, depth);
     }
 
     private int scorePlayer(final Board board, final Player player, final int depth) {
@@ -29,6 +40,38 @@ public final class StandardBoardEvaluator implements BoardEvaluator {
         // + checkmate, check, castled, mobility,....
     }
 
+    private static int scoreAlliance(final SearchBoard board, final Alliance alliance, final int depth) {
+        return pieceValue(board, alliance)
+                + board.countLegalMoves(alliance)
+                + check(board, alliance)
+                + checkMate(board, alliance, depth)
+                + castled(board, alliance);
+    }
+
+    private static int castled(final SearchBoard board, final Alliance alliance) {
+        return board.isCastled(alliance) ? CASTLE_BONUS : 0;
+    }
+
+    private static int check(final SearchBoard board, final Alliance alliance) {
+        return alliance != board.getMoveMaker() && board.isInCheck() ? CHECK_BONUS : 0;
+    }
+
+    private static int checkMate(final SearchBoard board, final Alliance alliance, final int depth) {
+        return alliance != board.getMoveMaker() && board.isInCheck() && !board.hasLegalMoves()
+                ? CHECK_MATE_BONUS * depthBonus(depth) : 0;
+    }
+
+    private static int pieceValue(final SearchBoard board, final Alliance alliance) {
+        int pieceValueScore = 0;
+
+        for (final PieceType pieceType : PieceType.values()) {
+            pieceValueScore += pieceType.getPieceValue()
+                    * BitBoardUtils.countTiles(board.getPieceBitBoard(alliance, pieceType));
+        }
+
+        return pieceValueScore;
+    }
+
     private static int castled(final Player player) {
         return player.isCastle() ? CASTLE_BONUS : 0;
     }
@@ -0,0 +1,121 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.MoveUtils;
+
+import java.util.Arrays;
+
+// Results of searched positions, looked up by Zobrist key. Every entry is two longs in one flat array, so the
+// table never allocates after it is created:
+//  key slot    the position key with its low 8 bits replaced by the search generation that wrote it, xor-ed with
+//              the data slot; the low bits are implied by the index, as the table always holds more than 256 entries
+//  data slot   bits  0 - 26  best move, MoveUtils encoding
+//              bits 27 - 34  remaining depth
+//              bits 35 - 36  bound type
+//              bits 37 - 63  score, signed
+// probe() returns the data slot and 0 on a miss, a stored entry never has data 0 because its bound is not 0.
+// Several search threads may share one table without locks: when two threads write the same entry at once the
+// key slot of one can end up next to the data slot of the other, and the xor makes such a mix fail to match any
+// key, so a torn entry reads as a miss instead of a wrong score.
+public final class TranspositionTable {
+    public static final long NO_ENTRY = 0L;
+
+    public static final int EXACT = 1;
+    public static final int LOWER_BOUND = 2; // the score is at least the stored one
+    public static final int UPPER_BOUND = 3; // the score is at most the stored one
+
+    public static final int DEFAULT_SIZE_IN_MEGABYTES = 16;
+
+    private static final int BYTES_PER_ENTRY = 2 * Long.BYTES;
+    private static final long GENERATION_MASK = 0xFFL;
+    private static final long MOVE_MASK = (1L << 27) - 1;
+    private static final int DEPTH_SHIFT = 27;
+    private static final long DEPTH_MASK = 0xFFL;
+    private static final int BOUND_SHIFT = 35;
+    private static final long BOUND_MASK = 0x3L;
+    private static final int SCORE_SHIFT = 37;
+    private static final int MAX_SCORE = (1 << 26) - 1;
+
+    private final long[] entries;
+    private final int indexMask;
+    private int generation;
+
+    // the entry count is the largest power of two that fits the budget
+    public TranspositionTable(final int sizeInMegaBytes) {
+        if (sizeInMegaBytes < 1) {
+            throw new IllegalArgumentException("Transposition table needs at least 1 MB, got " + sizeInMegaBytes);
+        }
+
+        final long budgetEntries = (long) sizeInMegaBytes * 1024 * 1024 / BYTES_PER_ENTRY;
+        final int numEntries = Integer.highestOneBit((int) Math.min(budgetEntries, 1 << 29));
+        this.entries = new long[2 * numEntries];
+        this.indexMask = numEntries - 1;
+        this.generation = 0;
+    }
+
+    public int getNumEntries() {
+        return this.indexMask + 1;
+    }
+
+    // entries of older searches stay readable but are the first to be replaced
+    public void newSearch() {
+        this.generation = (this.generation + 1) & (int) GENERATION_MASK;
+    }
+
+    public void clear() {
+        Arrays.fill(this.entries, 0L);
+    }
+
+    public long probe(final long zobristKey) {
+        final int slot = slotOf(zobristKey);
+        final long data = this.entries[slot + 1];
+        return ((this.entries[slot] ^ data) & ~GENERATION_MASK) == (zobristKey & ~GENERATION_MASK) ? data : NO_ENTRY;
+    }
+
+    // depth-preferred: an entry of the current search is only replaced by the same position or a search at
+    // least as deep
+    public void store(final long zobristKey, final int depth, final int score, final int bound, final int bestMove) {
+        if (score > MAX_SCORE || score < -MAX_SCORE) {
+            return; // the open window bounds, nothing worth keeping
+        }
+
+        final int slot = slotOf(zobristKey);
+        final long storedData = this.entries[slot + 1];
+        final long storedKey = this.entries[slot] ^ storedData;
+        final boolean isSamePosition = (storedKey & ~GENERATION_MASK) == (zobristKey & ~GENERATION_MASK);
+        final boolean isStale = (storedKey & GENERATION_MASK) != this.generation;
+
+        if (storedData != NO_ENTRY && !isSamePosition && !isStale && depth < depth(storedData)) {
+            return;
+        }
+
+        // keep the old best move when this search did not find one, it still orders the moves well
+        final int move = bestMove == MoveUtils.NO_MOVE && isSamePosition ? move(storedData) : bestMove;
+
+        final long data = (move & MOVE_MASK)
+                | ((long) depth & DEPTH_MASK) << DEPTH_SHIFT
+                | ((long) bound & BOUND_MASK) << BOUND_SHIFT
+                | (long) score << SCORE_SHIFT;
+        this.entries[slot] = ((zobristKey & ~GENERATION_MASK) | this.generation) ^ data;
+        this.entries[slot + 1] = data;
+    }
+
+    public static int move(final long entry) {
+        return (int) (entry & MOVE_MASK);
+    }
+
+    public static int depth(final long entry) {
+        return (int) ((entry >>> DEPTH_SHIFT) & DEPTH_MASK);
+    }
+
+    public static int bound(final long entry) {
+        return (int) ((entry >>> BOUND_SHIFT) & BOUND_MASK);
+    }
+
+    public static int score(final long entry) {
+        return (int) (entry >> SCORE_SHIFT);
+    }
+
+    private int slotOf(final long zobristKey) {
+        return 2 * (int) (zobristKey & this.indexMask);
+    }
+}
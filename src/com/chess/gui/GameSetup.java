@@ -14,6 +14,9 @@ class GameSetup extends JDialog {
     private PlayerType whitePlayerType;
     private PlayerType blackPlayerType;
     private JSpinner searchDepthSpinner;
+    private JSpinner thinkingTimeSpinner;
+    private JSpinner searchThreadsSpinner;
+    private JCheckBox ponderCheckBox;
 
     private static final String HUMAN_TEXT = "Human";
     private static final String COMPUTER_TEXT = "Computer";
@@ -47,6 +50,11 @@ class GameSetup extends JDialog {
 
         setupPanel.add(new JLabel("Search"));
         this.searchDepthSpinner = addLabeledSpinner(setupPanel, "Search Depth", new SpinnerNumberModel(6, 0, Integer.MAX_VALUE, 1));
+        this.thinkingTimeSpinner = addLabeledSpinner(setupPanel, "Thinking Time (s)", new SpinnerNumberModel(5, 1, Integer.MAX_VALUE, 1));
+        this.searchThreadsSpinner = addLabeledSpinner(setupPanel, "Search Threads",
+                new SpinnerNumberModel(1, 1, Runtime.getRuntime().availableProcessors(), 1));
+        this.ponderCheckBox = new JCheckBox("Ponder on the opponent's time", false);
+        setupPanel.add(this.ponderCheckBox);
 
         final JButton cancelButton = new JButton("Cancel");
         final JButton okButton = new JButton("OK");
@@ -110,4 +118,16 @@ class GameSetup extends JDialog {
     int getSearchDepth() {
         return (Integer) this.searchDepthSpinner.getValue();
     }
+
+    long getThinkingTimeMillis() {
+        return 1000L * (Integer) this.thinkingTimeSpinner.getValue();
+    }
+
+    int getSearchThreads() {
+        return (Integer) this.searchThreadsSpinner.getValue();
+    }
+
+    boolean isPondering() {
+        return this.ponderCheckBox.isSelected();
+    }
 }
@@ -6,9 +6,13 @@ import com.chess.engine.board.Move;
 import com.chess.engine.board.Tile;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.player.MoveTransition;
-import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.IterativeDeepening;
+import com.chess.engine.player.ai.LazySmp;
 import com.chess.engine.player.ai.Minimax;
 import com.chess.engine.player.ai.MoveStrategy;
+import com.chess.engine.player.ai.PonderingMoveStrategy;
+import com.chess.engine.player.ai.SearchStats;
+import com.chess.engine.player.ai.TranspositionTable;
 import com.google.common.collect.Lists;
 
 import javax.imageio.ImageIO;
@@ -24,6 +28,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 
 import static com.chess.engine.board.Move.*;
@@ -44,6 +49,13 @@ public class Table extends Observable {
     private BoardDirection boardDirection;
     private Move computerMove;
     private boolean highlightLegalMove;
+    // created on the first computer move and kept until the setup changes, so its transposition table stays warm
+    private PonderingMoveStrategy engine;
+    // the position after the reply the engine expects, and the search running on it while the human thinks
+    private Board ponderBoard;
+    private Future<Move> ponderResult;
+    // the computer move being searched, null when the computer is not thinking
+    private AIThinkTank thinkTank;
     private final static Dimension OUTER_FRAME_DIMENSION = new Dimension(600, 600);
     private final static Dimension BOARD_PANEL_DIMENSION = new Dimension(400, 350);
     private final static Dimension TILE_PANEL_DIMENSION = new Dimension(10, 10);
@@ -431,6 +443,10 @@ public class Table extends Observable {
     }
 
     private void setupUpdate(final GameSetup gameSetup) {
+        // the setup may have changed the depth, time or threads the engine was built with
+        stopThinking();
+        stopPondering();
+        this.engine = null;
         setChanged();
         notifyObservers(gameSetup);
     }
@@ -443,10 +459,17 @@ public class Table extends Observable {
                     && !Table.get().getGameBoard().currentPlayer().isInStaleMate()) {
                 // Create an AI thread
                 // execute ai work
-                final AIThinkTank thinkTank = new AIThinkTank();
+                final AIThinkTank thinkTank = new AIThinkTank(Table.get().getEngine(),
+                        Table.get().ponderBoard, Table.get().ponderResult);
+                Table.get().ponderBoard = null;
+                Table.get().ponderResult = null;
                 if (!thinkTank.isCancelled() && !thinkTank.isDone()) {
+                    Table.get().thinkTank = thinkTank;
                     thinkTank.execute();
                 }
+            } else {
+                // no think tank takes the pondering over, after a mate it would run on with no time limit
+                Table.get().stopPondering();
             }
 
             if (Table.get().getGameBoard().currentPlayer().isInCheckMate()) {
@@ -467,6 +490,61 @@ public class Table extends Observable {
         this.computerMove = move;
     }
 
+    private PonderingMoveStrategy getEngine() {
+        if (this.engine == null) {
+            // deepens until the thinking time set up for the game runs out, the depth spinner caps it
+            this.engine = this.gameSetup.getSearchThreads() > 1
+                    ? new LazySmp(this.gameSetup.getSearchThreads(), this.gameSetup.getSearchDepth(),
+                    this.gameSetup.getThinkingTimeMillis(), Long.MAX_VALUE, TranspositionTable.DEFAULT_SIZE_IN_MEGABYTES)
+                    : new IterativeDeepening(this.gameSetup.getSearchDepth(), this.gameSetup.getThinkingTimeMillis(), Long.MAX_VALUE,
+                    TranspositionTable.DEFAULT_SIZE_IN_MEGABYTES);
+        }
+        return this.engine;
+    }
+
+    // after a computer move against a human, searches the position after the reply the engine expects
+    private void startPondering() {
+        if (!this.gameSetup.isPondering()
+                || this.engine == null
+                || this.gameSetup.isAIPlayer(this.chessBoard.currentPlayer())
+                || this.chessBoard.currentPlayer().isInCheckMate()
+                || this.chessBoard.currentPlayer().isInStaleMate()) {
+            return;
+        }
+
+        final Move expectedReply = this.engine.getExpectedReply(this.chessBoard);
+        if (expectedReply == MoveFactory.getNullMove()) {
+            return;
+        }
+
+        final MoveTransition transition = this.chessBoard.currentPlayer().makeMove(expectedReply);
+        if (transition.getMoveStatus().isDone()) {
+            System.out.println("Pondering on " + expectedReply);
+            this.ponderBoard = transition.getTransitionBoard();
+            this.ponderResult = this.engine.ponder(this.ponderBoard);
+        }
+    }
+
+    // the search ends within a few thousand nodes and its move is never played
+    private void stopThinking() {
+        if (this.thinkTank != null) {
+            this.engine.stop();
+            this.thinkTank.cancel(false);
+            this.thinkTank = null;
+        }
+    }
+
+    // a stop for pondering that has already returned would be kept for the next search
+    private void stopPondering() {
+        if (this.ponderResult != null) {
+            if (!this.ponderResult.isDone()) {
+                this.engine.stop();
+            }
+            this.ponderBoard = null;
+            this.ponderResult = null;
+        }
+    }
+
     private void moveMadeUpdate(final PlayerType playerType) {
         System.out.println("Move made, player type: " + playerType);
         setChanged();
@@ -474,25 +552,61 @@ public class Table extends Observable {
     }
 
     private static class AIThinkTank extends SwingWorker<Move, String> {
-        private AIThinkTank() {
+        private final PonderingMoveStrategy engine;
+        private final Board ponderBoard;
+        private final Future<Move> ponderResult;
+
+        private AIThinkTank(final PonderingMoveStrategy engine,
+                            final Board ponderBoard,
+                            final Future<Move> ponderResult) {
+            this.engine = engine;
+            this.ponderBoard = ponderBoard;
+            this.ponderResult = ponderResult;
         }
 
         @Override
         protected Move doInBackground() throws Exception {
 //            final MoveStrategy miniMax = new Minimax(4);
-            final MoveStrategy alphaBeta = new AlphaBeta(4);
+            final Board board = Table.get().getGameBoard();
+            if (this.ponderResult != null) {
+                if (this.ponderBoard.getZobristKey() == board.getZobristKey()) {
+                    // the pondering becomes the search, with the time it already had counted
+                    System.out.println("Ponder hit");
+                    this.engine.ponderHit();
+                    return this.ponderResult.get();
+                }
+
+                // the engine is free again once the pondering has ended, what it found stays in the table
+                System.out.println("Ponder miss");
+                if (!this.ponderResult.isDone()) {
+                    this.engine.stop();
+                }
+                this.ponderResult.get();
+            }
+
 //            final Move bestMoveForMiniMax = miniMax.execute(Table.get().getGameBoard());
-            final Move bestMoveForAlphaBeta = alphaBeta.execute(Table.get().getGameBoard());
+            final Move bestMove = this.engine.execute(board);
 
 //            return bestMoveForMiniMax;
-            return bestMoveForAlphaBeta;
+            return bestMove;
         }
 
         @Override
         public void done() {
+            // cancelled by a new setup, the board has moved on without this search
+            if (isCancelled()) {
+                return;
+            }
+
+            Table.get().thinkTank = null;
             try {
                 final Move bestMove = get();
                 System.out.println("AI Move: " + bestMove);
+                final SearchStats searchStats = this.engine.getSearchStats();
+                for (int depth = 1; depth <= searchStats.getCompletedDepth(); depth++) {
+                    System.out.println("depth " + depth + " after " + searchStats.getDepthMillis(depth) + " ms");
+                }
+                System.out.println(searchStats);
 
                 Table.get().updateComputerMove(bestMove);
                 Table.get().updateGameBoard(Table.get().getGameBoard().currentPlayer().makeMove(bestMove).getTransitionBoard());
@@ -501,6 +615,7 @@ public class Table extends Observable {
                 Table.get().getTakenPiecesPanel().redo(Table.get().moveLog);
                 Table.get().getBoardPanel().drawBoard(Table.get().getGameBoard());
                 Table.get().moveMadeUpdate(PlayerType.COMPUTER);
+                Table.get().startPondering();
             } catch (InterruptedException | ExecutionException e) {
                 throw new RuntimeException(e);
             }
@@ -0,0 +1,92 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece.PieceType;
+import com.chess.pgn.FenUtilities;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MoveUtilsTest {
+
+    @Test
+    void fieldsSurviveEncoding() {
+        final int pawn = BitBoardUtils.pieceIndex(Alliance.BLACK, PieceType.PAWN);
+        final int rook = BitBoardUtils.pieceIndex(Alliance.WHITE, PieceType.ROOK);
+        final int queen = BitBoardUtils.pieceIndex(Alliance.BLACK, PieceType.QUEEN);
+        final int move = MoveUtils.encode(49, 56, pawn, rook, queen, MoveUtils.QUIET_FLAG);
+
+        assertNotEquals(MoveUtils.NO_MOVE, move);
+        assertEquals(49, MoveUtils.from(move));
+        assertEquals(56, MoveUtils.to(move));
+        assertEquals(pawn, MoveUtils.movedPiece(move));
+        assertEquals(rook, MoveUtils.capturedPiece(move));
+        assertEquals(queen, MoveUtils.promotionPiece(move));
+        assertEquals(MoveUtils.QUIET_FLAG, MoveUtils.flag(move));
+        assertTrue(MoveUtils.isCapture(move));
+        assertTrue(MoveUtils.isPromotion(move));
+        assertFalse(MoveUtils.isCastle(move));
+    }
+
+    @Test
+    void emptyFieldsReadAsNone() {
+        final int king = BitBoardUtils.pieceIndex(Alliance.WHITE, PieceType.KING);
+        final int move = MoveUtils.encode(60, 62, king, SearchBoard.NO_PIECE, SearchBoard.NO_PIECE,
+                MoveUtils.KING_SIDE_CASTLE_FLAG);
+
+        assertEquals(MoveUtils.NONE, MoveUtils.capturedPiece(move));
+        assertEquals(MoveUtils.NONE, MoveUtils.promotionPiece(move));
+        assertFalse(MoveUtils.isCapture(move));
+        assertFalse(MoveUtils.isPromotion(move));
+        assertTrue(MoveUtils.isCastle(move));
+    }
+
+    @Test
+    void noMoveDecodesToTheNullMove() {
+        final Board board = Board.createStandardBoard();
+
+        assertSame(MoveUtils.NULL_MOVE, MoveUtils.decode(board, MoveUtils.NO_MOVE));
+    }
+
+    // castles, pawn jumps, en passant, captures and promotions among them
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+            "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 b kq - 0 1",
+            "8/8/8/K2pP2r/8/8/8/7k w - d6 0 1"
+    })
+    void legalMovesSurviveEncodeAndDecode(final String fen) {
+        final Board board = FenUtilities.createGameFromFEN(fen);
+
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            final int encodedMove = MoveUtils.encode(move);
+            final Move decodedMove = MoveUtils.decode(board, encodedMove);
+
+            assertEquals(move, decodedMove);
+            assertEquals(move.getClass(), decodedMove.getClass());
+            assertEquals(encodedMove, MoveUtils.encode(decodedMove));
+        }
+    }
+
+    // the SearchBoard generates exactly the encodings of the Board's moves
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            "8/8/8/K2pP2r/8/8/8/7k w - d6 0 1"
+    })
+    void searchBoardMovesDecodeToBoardMoves(final String fen) {
+        final Board board = FenUtilities.createGameFromFEN(fen);
+
+        for (final int move : new SearchBoard(board).calculateLegalMoves()) {
+            assertTrue(board.currentPlayer().getLegalMoves().contains(MoveUtils.decode(board, move)),
+                    MoveUtils.toString(move));
+        }
+    }
+}
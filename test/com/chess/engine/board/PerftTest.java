@@ -0,0 +1,59 @@
+package com.chess.engine.board;
+
+import com.chess.pgn.FenUtilities;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Leaf counts of the legal move tree, from both generators: Board with Player.getLegalMoves() and Move.execute(),
+// and SearchBoard with make/unmake. Promotions are to a queen only in this engine, so the positions with
+// promotions (4 and 5) count fewer nodes than the published figures; the others match them.
+class PerftTest {
+
+    @ParameterizedTest(name = "{0} depth {2}")
+    @CsvSource(delimiter = ';', value = {
+            "start;        rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1;              3; 8902",
+            "kiwipete;     r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1; 3; 97862",
+            "position 3;   8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1;                             4; 43238",
+            "position 4;   r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1;     3; 8087",
+            "position 5;   rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8;            3; 54007",
+            "middlegame;   r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10; 3; 89890",
+            // an unmoved king and rooks castle only as far as the FEN grants it
+            "all rights;   r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1;                                  3; 13744",
+            "some rights;  r3k2r/8/8/8/8/8/8/R3K2R w Kq - 0 1;                                    3; 12647",
+            "no rights;    r3k2r/8/8/8/8/8/8/R3K2R w - - 0 1;                                     3; 11522"
+    })
+    void bothGeneratorsCountTheKnownNodes(final String name, final String fen, final int depth, final long nodes) {
+        final Board board = FenUtilities.createGameFromFEN(fen);
+
+        assertEquals(nodes, perft(board, depth), "Board");
+        assertEquals(nodes, perft(new SearchBoard(board), depth), "SearchBoard");
+    }
+
+    private static long perft(final Board board, final int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+
+        long nodes = 0;
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            nodes += perft(move.execute(), depth - 1);
+        }
+        return nodes;
+    }
+
+    private static long perft(final SearchBoard board, final int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+
+        long nodes = 0;
+        for (final int move : board.calculateLegalMoves()) {
+            board.make(move);
+            nodes += perft(board, depth - 1);
+            board.unmake();
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,45 @@
+package com.chess.engine.board;
+
+import com.chess.pgn.FenUtilities;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The key a Board computes from scratch, the key SearchBoard.make() and unmake() keep up move by move, and the key
+// of a SearchBoard built fresh on the same position must all agree at every node of a small tree.
+class ZobristKeyTest {
+    private static final int DEPTH = 3;
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+            "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+            "r3k2r/8/8/8/8/8/8/R3K2R w Kq - 0 1",
+            "8/8/8/K2pP2r/8/8/8/7k w - d6 0 1"
+    })
+    void incrementalKeyMatchesFullKey(final String fen) {
+        final Board board = FenUtilities.createGameFromFEN(fen);
+        final SearchBoard searchBoard = new SearchBoard(board);
+        final long rootKey = searchBoard.getZobristKey();
+
+        assertKeysMatch(board, searchBoard, DEPTH);
+        assertEquals(rootKey, searchBoard.getZobristKey(), "key after unmaking every move");
+    }
+
+    private static void assertKeysMatch(final Board board, final SearchBoard searchBoard, final int depth) {
+        assertEquals(board.getZobristKey(), searchBoard.getZobristKey(), board::toString);
+        assertEquals(new SearchBoard(board).getZobristKey(), searchBoard.getZobristKey(), board::toString);
+
+        if (depth == 0) {
+            return;
+        }
+
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            searchBoard.make(move);
+            assertKeysMatch(move.execute(), searchBoard, depth - 1);
+            searchBoard.unmake();
+        }
+    }
+}
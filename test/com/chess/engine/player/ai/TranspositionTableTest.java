@@ -0,0 +1,99 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoardUtils;
+import com.chess.engine.board.MoveUtils;
+import com.chess.engine.pieces.Piece.PieceType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TranspositionTableTest {
+    private static final long KEY = 0x9E3779B97F4A7C15L;
+    private static final int MOVE = MoveUtils.encode(49, 56, BitBoardUtils.pieceIndex(Alliance.BLACK, PieceType.PAWN),
+            BitBoardUtils.pieceIndex(Alliance.WHITE, PieceType.ROOK),
+            BitBoardUtils.pieceIndex(Alliance.BLACK, PieceType.QUEEN), MoveUtils.QUIET_FLAG);
+
+    private final TranspositionTable transpositionTable = new TranspositionTable(1);
+
+    @Test
+    void entryUnpacksToWhatWasStored() {
+        for (final int score : new int[]{0, 1, -1, 12_345, -12_345, (1 << 26) - 1, -((1 << 26) - 1)}) {
+            this.transpositionTable.store(KEY, 17, score, TranspositionTable.LOWER_BOUND, MOVE);
+            final long entry = this.transpositionTable.probe(KEY);
+
+            assertEquals(MOVE, TranspositionTable.move(entry));
+            assertEquals(17, TranspositionTable.depth(entry));
+            assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.bound(entry));
+            assertEquals(score, TranspositionTable.score(entry));
+        }
+    }
+
+    @Test
+    void otherPositionMisses() {
+        this.transpositionTable.store(KEY, 4, 100, TranspositionTable.EXACT, MOVE);
+
+        assertEquals(TranspositionTable.NO_ENTRY, this.transpositionTable.probe(KEY ^ (1L << 40)));
+    }
+
+    @Test
+    void generationDoesNotHideAnEntry() {
+        this.transpositionTable.store(KEY, 4, 100, TranspositionTable.EXACT, MOVE);
+        this.transpositionTable.newSearch();
+
+        assertEquals(100, TranspositionTable.score(this.transpositionTable.probe(KEY)));
+    }
+
+    @Test
+    void windowBoundsAreNotStored() {
+        this.transpositionTable.store(KEY, 4, AlphaBeta.INFINITY, TranspositionTable.LOWER_BOUND, MOVE);
+
+        assertEquals(TranspositionTable.NO_ENTRY, this.transpositionTable.probe(KEY));
+    }
+
+    @Test
+    void sameSearchKeepsTheDeeperEntry() {
+        final long otherKey = KEY + this.transpositionTable.getNumEntries(); // same slot, other position
+        this.transpositionTable.store(KEY, 6, 100, TranspositionTable.EXACT, MOVE);
+        this.transpositionTable.store(otherKey, 5, 200, TranspositionTable.EXACT, MOVE);
+
+        assertEquals(100, TranspositionTable.score(this.transpositionTable.probe(KEY)));
+        assertEquals(TranspositionTable.NO_ENTRY, this.transpositionTable.probe(otherKey));
+
+        this.transpositionTable.newSearch();
+        this.transpositionTable.store(otherKey, 5, 200, TranspositionTable.EXACT, MOVE);
+
+        assertEquals(200, TranspositionTable.score(this.transpositionTable.probe(otherKey)));
+        assertEquals(TranspositionTable.NO_ENTRY, this.transpositionTable.probe(KEY));
+    }
+
+    @Test
+    void storeWithoutMoveKeepsTheOldMove() {
+        this.transpositionTable.store(KEY, 4, 100, TranspositionTable.LOWER_BOUND, MOVE);
+        this.transpositionTable.store(KEY, 5, -50, TranspositionTable.UPPER_BOUND, MoveUtils.NO_MOVE);
+
+        assertEquals(MOVE, TranspositionTable.move(this.transpositionTable.probe(KEY)));
+        assertEquals(-50, TranspositionTable.score(this.transpositionTable.probe(KEY)));
+    }
+
+    @Test
+    void clearEmptiesTheTable() {
+        this.transpositionTable.store(KEY, 4, 100, TranspositionTable.EXACT, MOVE);
+        this.transpositionTable.clear();
+
+        assertEquals(TranspositionTable.NO_ENTRY, this.transpositionTable.probe(KEY));
+    }
+
+    @Test
+    void tableNeedsOneMegabyte() {
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0));
+    }
+
+    @Test
+    void entryCountIsAPowerOfTwo() {
+        final int numEntries = new TranspositionTable(3).getNumEntries();
+
+        assertEquals(Integer.highestOneBit(numEntries), numEntries);
+    }
+}